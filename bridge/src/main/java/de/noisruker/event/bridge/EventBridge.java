@@ -0,0 +1,489 @@
+/*
+ Event Manager
+ EventBridge.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event.bridge;
+
+import de.noisruker.event.EventManager;
+import de.noisruker.event.Subscription;
+import de.noisruker.event.events.Event;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Forwards events between the {@link EventManager}s of processes on the same host over Unix domain sockets.
+ * <p>
+ * Events of the {@link EventBridge#forward(Class) forwarded} classes are sent to all connected peers, which trigger them on their own {@link EventManager}.
+ * Events received from a peer are not forwarded again, as long as they are triggered by the receiving thread.
+ * <p>
+ * Every peer has a writer thread, that collects the queued events into frames in a direct buffer and writes as many frames as possible at once, and a reader thread triggering the received events.
+ * A frame consists of its length followed by the event as encoded by the {@link EventCodec}. Events are encoded by the writer thread, so they shouldn't be changed after they were triggered.
+ * <p>
+ * Events that can't be encoded, decoded or queued are dropped and reported to the {@link de.noisruker.event.events.IListenerErrorHandler#deliveryFailed(Object, Throwable) error handler}
+ * of the event manager. A peer is only disconnected if its channel fails or it sends a frame with an invalid length.
+ */
+public class EventBridge implements Closeable {
+
+    /**
+     * The size of the direct buffers used to read and write frames
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /**
+     * The default maximum length of a frame
+     */
+    public static final int DEFAULT_MAX_FRAME_SIZE = 16 * 1024 * 1024;
+    /**
+     * The default maximum number of events queued for a peer
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 64 * 1024;
+
+    /**
+     * The event manager to forward events from and trigger received events on
+     */
+    private final EventManager manager;
+    /**
+     * Encodes and decodes the events
+     */
+    private final EventCodec codec;
+    /**
+     * The maximum length of a frame
+     */
+    private final int maxFrameSize;
+    /**
+     * The maximum number of events queued for a peer
+     */
+    private final int queueCapacity;
+    /**
+     * The connected peers
+     */
+    private final List<Peer> peers;
+    /**
+     * The subscriptions of the forwarding listeners
+     */
+    private final List<Subscription> subscriptions;
+    /**
+     * The channel accepting peers or {@code null} if the bridge isn't bound
+     */
+    private volatile ServerSocketChannel server;
+    /**
+     * The socket file the bridge is bound to or {@code null} if the bridge isn't bound
+     */
+    private volatile Path socket;
+    /**
+     * If the bridge was closed
+     */
+    private volatile boolean closed;
+
+    /**
+     * Creates a bridge without any peers, using the {@link EventBridge#DEFAULT_MAX_FRAME_SIZE default maximum frame size}
+     * and {@link EventBridge#DEFAULT_QUEUE_CAPACITY queue capacity}
+     *
+     * @param manager The event manager to forward events from and trigger received events on
+     * @param codec Encodes and decodes the events. It must be registered the same way on all peers.
+     */
+    public EventBridge(EventManager manager, EventCodec codec) {
+        this(manager, codec, DEFAULT_MAX_FRAME_SIZE, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Creates a bridge without any peers
+     *
+     * @param manager The event manager to forward events from and trigger received events on
+     * @param codec Encodes and decodes the events. It must be registered the same way on all peers.
+     * @param maxFrameSize The maximum length of a frame. Larger events are dropped and a peer sending a larger frame is disconnected.
+     * @param queueCapacity The maximum number of events queued for a peer. Further events are dropped, until the writer caught up.
+     * @throws IllegalArgumentException If the maximum frame size or the queue capacity is not positive
+     */
+    public EventBridge(EventManager manager, EventCodec codec, int maxFrameSize, int queueCapacity) {
+        if(maxFrameSize <= 0)
+            throw new IllegalArgumentException("The maximum frame size must be positive, but was " + maxFrameSize);
+        if(queueCapacity <= 0)
+            throw new IllegalArgumentException("The queue capacity must be positive, but was " + queueCapacity);
+        this.manager = manager;
+        this.codec = codec;
+        this.maxFrameSize = maxFrameSize;
+        this.queueCapacity = queueCapacity;
+        this.peers = new CopyOnWriteArrayList<>();
+        this.subscriptions = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Sends all events of the given class triggered on the event manager to the peers.
+     *
+     * @param eventClassO The events class. A serializer has to be registered for it at the codec.
+     * @param <eventClass> The events class
+     * @throws IllegalArgumentException If no serializer is registered for the class
+     */
+    public <eventClass extends Event> void forward(Class<eventClass> eventClassO) {
+        if(!this.codec.canEncode(eventClassO))
+            throw new IllegalArgumentException("No serializer is registered for " + eventClassO.getName());
+        this.subscriptions.add(this.manager.registerEventListener(eventClassO, event -> {
+            // Events received from a peer are not sent back
+            if(event.getClass() != eventClassO || Thread.currentThread() instanceof Reader)
+                return;
+            for(Peer peer: this.peers)
+                peer.send(event);
+        }));
+    }
+
+    /**
+     * Accepts peers connecting to the given socket file. The file must not exist.
+     *
+     * @param socket The socket file to create
+     * @throws IOException If the socket can't be bound
+     */
+    public void bind(Path socket) throws IOException {
+        ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(UnixDomainSocketAddress.of(socket));
+        this.server = server;
+        this.socket = socket;
+
+        Thread acceptor = new Thread(() -> {
+            while (!this.closed) {
+                try {
+                    this.connected(server.accept());
+                } catch (AsynchronousCloseException e) {
+                    return;
+                } catch (IOException e) {
+                    if(!this.closed)
+                        this.failed(this, e);
+                    return;
+                }
+            }
+        }, "EventBridge acceptor " + socket);
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Connects to a bridge bound to the given socket file.
+     *
+     * @param socket The socket file of the other bridge
+     * @throws IOException If the connection can't be established
+     */
+    public void connect(Path socket) throws IOException {
+        this.connected(SocketChannel.open(UnixDomainSocketAddress.of(socket)));
+    }
+
+    /**
+     * @return The number of connected peers
+     */
+    public int getPeerCount() {
+        return this.peers.size();
+    }
+
+    /**
+     * Stops forwarding events and disconnects all peers. Events queued for a peer, but not written yet, are dropped.
+     *
+     * @throws IOException If the socket file can't be deleted
+     */
+    @Override
+    public void close() throws IOException {
+        this.closed = true;
+        this.subscriptions.forEach(Subscription::unsubscribe);
+        this.subscriptions.clear();
+        ServerSocketChannel server = this.server;
+        if(server != null)
+            server.close();
+        for(Peer peer: this.peers)
+            peer.close();
+        Path socket = this.socket;
+        if(socket != null)
+            Files.deleteIfExists(socket);
+    }
+
+    @Override
+    public String toString() {
+        Path socket = this.socket;
+        return socket == null ? "EventBridge" : "EventBridge[" + socket + "]";
+    }
+
+    /**
+     * Passes a failure to the {@link de.noisruker.event.events.IListenerErrorHandler} of the event manager.
+     * If the handler throws, its exception goes to the uncaught exception handler of the thread, so the calling thread keeps running.
+     *
+     * @param source The bridge or peer that failed
+     * @param e The failure
+     */
+    private void failed(Object source, Throwable e) {
+        try {
+            this.manager.getListenerErrorHandler().deliveryFailed(source, e);
+        } catch (RuntimeException handlerFailure) {
+            if(handlerFailure != e)
+                handlerFailure.addSuppressed(e);
+            Thread current = Thread.currentThread();
+            current.getUncaughtExceptionHandler().uncaughtException(current, handlerFailure);
+        }
+    }
+
+    /**
+     * Starts the threads of a newly connected peer
+     *
+     * @param channel The channel to the peer
+     */
+    private void connected(SocketChannel channel) {
+        Peer peer = new Peer(channel);
+        this.peers.add(peer);
+        if(this.closed)
+            peer.close();
+        else
+            peer.start();
+    }
+
+    /**
+     * A connected peer
+     */
+    private class Peer {
+
+        /**
+         * The channel to the peer
+         */
+        private final SocketChannel channel;
+        /**
+         * The events waiting to be written
+         */
+        private final BlockingQueue<Event<?>> queue;
+        /**
+         * Writes the queued events
+         */
+        private final Thread writer;
+        /**
+         * Triggers the received events
+         */
+        private final Reader reader;
+
+        /**
+         * Creates a new peer
+         *
+         * @param channel The channel to the peer
+         */
+        Peer(SocketChannel channel) {
+            this.channel = channel;
+            this.queue = new LinkedBlockingQueue<>(EventBridge.this.queueCapacity);
+            this.writer = new Thread(this::write, "EventBridge writer");
+            this.writer.setDaemon(true);
+            this.reader = new Reader(this::read);
+        }
+
+        /**
+         * Starts the writer and the reader thread
+         */
+        void start() {
+            this.writer.start();
+            this.reader.start();
+        }
+
+        /**
+         * Queues the event to be written, if the peer is still connected. If the queue is full, the event is dropped and reported.
+         *
+         * @param event The event
+         */
+        void send(Event<?> event) {
+            if(this.channel.isOpen() && !this.queue.offer(event))
+                EventBridge.this.failed(this, new IllegalStateException("The queue is full, so " + event.getEventName() + " was dropped"));
+        }
+
+        /**
+         * Writes the queued events until the peer is closed. All events queued at once are written together.
+         */
+        private void write() {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            ByteBufferOutput direct = new ByteBufferOutput(buffer);
+            ByteArrayOutputStream frame = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(frame);
+            try {
+                while (this.channel.isOpen()) {
+                    Event<?> event = this.queue.take();
+                    do {
+                        frame.reset();
+                        try {
+                            EventBridge.this.codec.encode(event, out);
+                            out.flush();
+                            if(frame.size() > EventBridge.this.maxFrameSize)
+                                throw new IOException("The frame of " + frame.size() + " bytes exceeds the maximum of " + EventBridge.this.maxFrameSize + " bytes");
+                        } catch (IOException | RuntimeException e) {
+                            // A failing serializer only drops its event
+                            EventBridge.this.failed(this, new IOException("Event " + event.getEventName() + " could not be encoded", e));
+                            continue;
+                        }
+
+                        if(buffer.remaining() < Integer.BYTES + frame.size())
+                            this.flush(buffer);
+                        if(buffer.remaining() < Integer.BYTES + frame.size()) {
+                            // The frame is larger than the buffer, so it is written on its own
+                            ByteBuffer large = ByteBuffer.allocate(Integer.BYTES + frame.size());
+                            large.putInt(frame.size()).put(frame.toByteArray()).flip();
+                            while (large.hasRemaining())
+                                this.channel.write(large);
+                        } else {
+                            buffer.putInt(frame.size());
+                            frame.writeTo(direct);
+                        }
+                    } while ((event = this.queue.poll()) != null);
+                    this.flush(buffer);
+                }
+            } catch (InterruptedException | AsynchronousCloseException e) {
+                // The peer was closed
+            } catch (IOException e) {
+                if(!EventBridge.this.closed)
+                    EventBridge.this.failed(this, e);
+            } finally {
+                this.close();
+            }
+        }
+
+        /**
+         * Writes the content of the buffer to the channel
+         *
+         * @param buffer The buffer holding the frames
+         * @throws IOException If the frames can't be written
+         */
+        private void flush(ByteBuffer buffer) throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining())
+                this.channel.write(buffer);
+            buffer.clear();
+        }
+
+        /**
+         * Reads frames and triggers their events on the event manager until the peer is closed
+         */
+        private void read() {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            try {
+                while (this.channel.read(buffer) >= 0) {
+                    buffer.flip();
+                    while (buffer.remaining() >= Integer.BYTES) {
+                        int length = buffer.getInt(buffer.position());
+                        if(length < 0 || length > EventBridge.this.maxFrameSize)
+                            throw new IOException("Invalid frame length " + length + ", the maximum is " + EventBridge.this.maxFrameSize + " bytes");
+                        if(buffer.remaining() < Integer.BYTES + length)
+                            break;
+                        buffer.getInt();
+                        byte[] frame = new byte[length];
+                        buffer.get(frame);
+                        try {
+                            EventBridge.this.manager.triggerEvent(EventBridge.this.codec.decode(new DataInputStream(new ByteArrayInputStream(frame))));
+                        } catch (IOException | RuntimeException e) {
+                            // The frame was read completely, so a failing serializer or error handler only drops its event
+                            EventBridge.this.failed(this, e);
+                        }
+                    }
+                    buffer.compact();
+
+                    // A frame larger than the buffer needs a larger buffer
+                    if(buffer.position() >= Integer.BYTES && buffer.getInt(0) + Integer.BYTES > buffer.capacity()) {
+                        ByteBuffer larger = ByteBuffer.allocateDirect(buffer.getInt(0) + Integer.BYTES);
+                        buffer.flip();
+                        larger.put(buffer);
+                        buffer = larger;
+                    }
+                }
+            } catch (AsynchronousCloseException e) {
+                // The peer was closed
+            } catch (IOException e) {
+                if(!EventBridge.this.closed)
+                    EventBridge.this.failed(this, e);
+            } finally {
+                this.close();
+            }
+        }
+
+        /**
+         * Closes the channel and stops the threads
+         */
+        void close() {
+            EventBridge.this.peers.remove(this);
+            try {
+                this.channel.close();
+            } catch (IOException e) {
+                EventBridge.this.failed(this, e);
+            }
+            this.writer.interrupt();
+            this.queue.clear();
+        }
+
+        @Override
+        public String toString() {
+            return EventBridge.this + " peer";
+        }
+    }
+
+    /**
+     * The thread reading from a peer. Events triggered by it were received from the peer and are not sent back.
+     */
+    private static class Reader extends Thread {
+
+        /**
+         * Creates a new reader thread
+         *
+         * @param task The reading task
+         */
+        Reader(Runnable task) {
+            super(task, "EventBridge reader");
+            this.setDaemon(true);
+        }
+    }
+
+    /**
+     * An output stream writing to a byte buffer, so frames are copied into the direct buffer without an intermediate array
+     */
+    private static class ByteBufferOutput extends java.io.OutputStream {
+
+        /**
+         * The buffer to write to
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * Creates a new output
+         *
+         * @param buffer The buffer to write to
+         */
+        ByteBufferOutput(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(int b) {
+            this.buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            this.buffer.put(b, off, len);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ Event Manager
+ EventCodec.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event.bridge;
+
+import de.noisruker.event.events.Event;
+import de.noisruker.event.journal.EventSerializer;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Encodes events into a compact binary form and decodes them again. Every events class is identified by a type id, followed by the state written by its {@link EventSerializer}.
+ * <p>
+ * Both sides of a bridge must register the same type ids and serializers.
+ */
+public class EventCodec {
+
+    /**
+     * The serializers by the events class they are registered for
+     */
+    private final Map<Class<?>, Type<?>> byClass;
+    /**
+     * The serializers by their type id
+     */
+    private final Map<Integer, Type<?>> byId;
+
+    /**
+     * Creates a codec without any registered events class
+     */
+    public EventCodec() {
+        this.byClass = new ConcurrentHashMap<>();
+        this.byId = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Registers the serializer for the events of a class.
+     *
+     * @param typeId The id identifying the class on both sides
+     * @param eventClassO The events class
+     * @param serializer The serializer
+     * @param <eventClass> The events class
+     * @return This codec
+     * @throws IllegalArgumentException If the type id or the class is already registered
+     */
+    public synchronized <eventClass extends Event> EventCodec register(int typeId, Class<eventClass> eventClassO, EventSerializer<eventClass> serializer) {
+        if(this.byId.containsKey(typeId) || this.byClass.containsKey(eventClassO))
+            throw new IllegalArgumentException("Type id " + typeId + " or class " + eventClassO.getName() + " is already registered");
+        Type<eventClass> type = new Type<>(typeId, serializer);
+        this.byId.put(typeId, type);
+        this.byClass.put(eventClassO, type);
+        return this;
+    }
+
+    /**
+     * @param eventClass The events class
+     * @return If events of the class can be encoded
+     */
+    public boolean canEncode(Class<?> eventClass) {
+        return this.byClass.containsKey(eventClass);
+    }
+
+    /**
+     * Writes the type id and the state of the event.
+     *
+     * @param event The event to encode
+     * @param out The output to write to
+     * @throws IOException If the event can't be written
+     * @throws IllegalArgumentException If no serializer is registered for the events class
+     */
+    public void encode(Event<?> event, DataOutput out) throws IOException {
+        Type<Event<?>> type = (Type<Event<?>>) this.byClass.get(event.getClass());
+        if(type == null)
+            throw new IllegalArgumentException("No serializer is registered for " + event.getClass().getName());
+        out.writeInt(type.id);
+        type.serializer.write(event, out);
+    }
+
+    /**
+     * Reads an event written by {@link EventCodec#encode(Event, DataOutput)}.
+     *
+     * @param in The input to read from
+     * @return The decoded event
+     * @throws IOException If the event can't be read or its type id is unknown
+     */
+    public Event<?> decode(DataInput in) throws IOException {
+        int id = in.readInt();
+        Type<?> type = this.byId.get(id);
+        if(type == null)
+            throw new IOException("Unknown type id " + id);
+        return (Event<?>) type.serializer.read(in);
+    }
+
+    /**
+     * A registered serializer
+     *
+     * @param <T> The events class
+     */
+    private static class Type<T extends Event> {
+
+        /**
+         * The id identifying the class on both sides
+         */
+        private final int id;
+        /**
+         * The serializer of the events
+         */
+        private final EventSerializer<T> serializer;
+
+        /**
+         * Creates a new type
+         *
+         * @param id The id identifying the class on both sides
+         * @param serializer The serializer of the events
+         */
+        Type(int id, EventSerializer<T> serializer) {
+            this.id = id;
+            this.serializer = serializer;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package de.noiruker.event;
+
+import de.noisruker.event.EventManager;
+import de.noisruker.event.bridge.EventBridge;
+import de.noisruker.event.bridge.EventCodec;
+import de.noisruker.event.events.Event;
+import de.noisruker.event.events.IEventListener;
+import de.noisruker.event.events.IListenerErrorHandler;
+import de.noisruker.event.journal.EventSerializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EventBridgeTest {
+
+    public static class MessageEvent extends Event<Void> {
+
+        private final String message;
+
+        public MessageEvent(String message) {
+            super("MessageEvent");
+            this.message = message;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private static final EventSerializer<MessageEvent> SERIALIZER = new EventSerializer<MessageEvent>() {
+        @Override
+        public void write(MessageEvent event, DataOutput out) throws IOException {
+            if(event.getMessage().equals("unwritable"))
+                throw new IllegalArgumentException("unwritable message");
+            out.writeUTF(event.getMessage());
+        }
+
+        @Override
+        public MessageEvent read(DataInput in) throws IOException {
+            String message = in.readUTF();
+            if(message.equals("unreadable"))
+                throw new IllegalArgumentException("unreadable message");
+            if(message.equals("truncated"))
+                throw new EOFException("truncated message");
+            return new MessageEvent(message);
+        }
+    };
+
+    @Test
+    public void eventsAreForwardedToThePeerButNotBack(@TempDir Path directory) throws Exception {
+        Path socket = directory.resolve("events.sock");
+        EventManager first = new EventManager() {}, second = new EventManager() {};
+        List<String> firstReceived = new CopyOnWriteArrayList<>(), secondReceived = new CopyOnWriteArrayList<>();
+        first.registerEventListener(MessageEvent.class, event -> firstReceived.add(event.getMessage()));
+        second.registerEventListener(MessageEvent.class, event -> secondReceived.add(event.getMessage()));
+
+        try (EventBridge server = new EventBridge(first, new EventCodec().register(1, MessageEvent.class, SERIALIZER));
+             EventBridge client = new EventBridge(second, new EventCodec().register(1, MessageEvent.class, SERIALIZER))) {
+            server.forward(MessageEvent.class);
+            client.forward(MessageEvent.class);
+            server.bind(socket);
+            client.connect(socket);
+            waitFor(() -> server.getPeerCount() == 1);
+
+            String large = "x".repeat(40_000);
+            for(int i = 0; i < 100; i++)
+                first.triggerEvent(new MessageEvent("event " + i));
+            first.triggerEvent(new MessageEvent(large));
+            waitFor(() -> secondReceived.size() == 101);
+            assertEquals("event 0", secondReceived.get(0));
+            assertEquals(large, secondReceived.get(100));
+
+            second.triggerEvent(new MessageEvent("reply"));
+            waitFor(() -> firstReceived.size() == 102);
+            assertEquals("reply", firstReceived.get(101));
+            Thread.sleep(50);
+            assertEquals(102, firstReceived.size());
+            assertEquals(102, secondReceived.size());
+        }
+        assertFalse(Files.exists(socket));
+    }
+
+    @Test
+    public void failingSerializersOnlyDropTheirEvent(@TempDir Path directory) throws Exception {
+        Path socket = directory.resolve("events.sock");
+        EventManager first = new EventManager() {}, second = new EventManager() {};
+        List<String> received = new CopyOnWriteArrayList<>();
+        List<Throwable> firstFailures = new CopyOnWriteArrayList<>(), secondFailures = new CopyOnWriteArrayList<>();
+        second.registerEventListener(MessageEvent.class, event -> received.add(event.getMessage()));
+        first.setListenerErrorHandler(new FailureCollector(firstFailures));
+        second.setListenerErrorHandler(new FailureCollector(secondFailures));
+
+        try (EventBridge server = new EventBridge(first, new EventCodec().register(1, MessageEvent.class, SERIALIZER));
+             EventBridge client = new EventBridge(second, new EventCodec().register(1, MessageEvent.class, SERIALIZER))) {
+            server.forward(MessageEvent.class);
+            server.bind(socket);
+            client.connect(socket);
+            waitFor(() -> server.getPeerCount() == 1);
+
+            first.triggerEvent(new MessageEvent("unwritable"));
+            first.triggerEvent(new MessageEvent("unreadable"));
+            first.triggerEvent(new MessageEvent("truncated"));
+            first.triggerEvent(new MessageEvent("last"));
+            waitFor(() -> received.size() == 1);
+            assertEquals(List.of("last"), received);
+            assertEquals(1, server.getPeerCount());
+            assertEquals(1, client.getPeerCount());
+            assertEquals(1, firstFailures.size());
+            assertEquals(2, secondFailures.size());
+        }
+    }
+
+    @Test
+    public void invalidFrameLengthsDisconnectThePeer(@TempDir Path directory) throws Exception {
+        Path socket = directory.resolve("events.sock");
+        EventManager manager = new EventManager() {};
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        manager.setListenerErrorHandler(new FailureCollector(failures));
+
+        try (EventBridge server = new EventBridge(manager, new EventCodec().register(1, MessageEvent.class, SERIALIZER), 1024, 16)) {
+            server.bind(socket);
+            SocketChannel peer = SocketChannel.open(UnixDomainSocketAddress.of(socket));
+            waitFor(() -> server.getPeerCount() == 1);
+            peer.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, 1025));
+            waitFor(() -> server.getPeerCount() == 0);
+            assertEquals(1, failures.size());
+            assertTrue(failures.get(0).getMessage().startsWith("Invalid frame length 1025"));
+            peer.close();
+        }
+    }
+
+    private static class FailureCollector implements IListenerErrorHandler {
+
+        private final List<Throwable> failures;
+
+        FailureCollector(List<Throwable> failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public void handle(Event<?> event, IEventListener<?> listener, Throwable error) {
+            this.failures.add(error);
+        }
+
+        @Override
+        public void deliveryFailed(Object source, Throwable error) {
+            this.failures.add(error);
+        }
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline)
+            Thread.sleep(5);
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ Event Manager
+ EventListenerProcessor.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates an {@code EventListenerRegistrar} for every class declaring {@code @EventListener} methods.
+ * <p>
+ * The registrar adds a direct call of every event listening method, so the {@code EventManager} doesn't need to scan the class or invoke its methods via reflection.
+ * Methods the {@code EventManager} couldn't call either, because they or their class aren't public, are reported as warnings and the class is left to the reflective registration.
+ */
+@SupportedAnnotationTypes(EventListenerProcessor.EVENT_LISTENER)
+public class EventListenerProcessor extends AbstractProcessor {
+
+    /**
+     * The name of the event listener annotation
+     */
+    static final String EVENT_LISTENER = "de.noisruker.event.events.EventListener";
+    /**
+     * The name of the events base class
+     */
+    private static final String EVENT = "de.noisruker.event.events.Event";
+    /**
+     * The name of the registrar interface
+     */
+    private static final String REGISTRAR = "de.noisruker.event.EventListenerRegistrar";
+    /**
+     * The suffix of the generated registrars names
+     */
+    private static final String SUFFIX = "_EventListenerRegistrar";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for(TypeElement annotation: annotations) {
+            // Group the methods by their declaring class, keeping the order of the source
+            Map<TypeElement, List<ExecutableElement>> methods = new LinkedHashMap<>();
+            for(Element element: roundEnv.getElementsAnnotatedWith(annotation)) {
+                if(element.getKind() == ElementKind.METHOD)
+                    methods.computeIfAbsent((TypeElement) element.getEnclosingElement(), key -> new ArrayList<>()).add((ExecutableElement) element);
+            }
+            methods.forEach(this::generate);
+        }
+        return false;
+    }
+
+    /**
+     * Generates the registrar of a class
+     *
+     * @param type The class declaring the event listening methods
+     * @param methods The event listening methods
+     */
+    private void generate(TypeElement type, List<ExecutableElement> methods) {
+        if(!this.isAccessible(type)) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "No registrar is generated, because the class is not public. The EventManager has to use reflection for it.", type);
+            return;
+        }
+
+        TypeMirror event = this.processingEnv.getElementUtils().getTypeElement(EVENT).asType();
+        String typeName = this.processingEnv.getTypeUtils().erasure(type.asType()).toString();
+        String binaryName = this.processingEnv.getElementUtils().getBinaryName(type).toString();
+
+        List<String> lines = new ArrayList<>();
+        for(ExecutableElement method: methods) {
+            if(!method.getModifiers().contains(Modifier.PUBLIC)) {
+                this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Method can't be executed by the EventManager. Please ensure the Method to be public!", method);
+                continue;
+            }
+            if(method.getParameters().size() != 1 || !this.processingEnv.getTypeUtils().isAssignable(method.getParameters().get(0).asType(), this.processingEnv.getTypeUtils().erasure(event)))
+                continue;
+
+            String eventClass = this.processingEnv.getTypeUtils().erasure(method.getParameters().get(0).asType()).toString();
+            String name = binaryName + "#" + method.getSimpleName();
+            String call = method.getSimpleName() + "((" + eventClass + ") event)";
+            if(method.getModifiers().contains(Modifier.STATIC))
+                lines.add("listeners.add(" + eventClass + ".class, \"" + name + "\", event -> " + typeName + "." + call + ");");
+            else
+                lines.add("listeners.add(" + eventClass + ".class, \"" + name + "\", classObject == null ? null : (de.noisruker.event.events.IEventListener<" + eventClass + ">) event -> classObject." + call + ");");
+        }
+
+        PackageElement packageElement = this.processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        // '_' is doubled before '$' is replaced, so the nested class a.Outer$Inner and the class a.Outer_Inner never share a registrar name
+        String registrarName = binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1).replace("_", "__").replace("$", "_$") + SUFFIX;
+
+        try {
+            JavaFileObject file = this.processingEnv.getFiler().createSourceFile(packageName.isEmpty() ? registrarName : packageName + "." + registrarName, type);
+            try (PrintWriter out = new PrintWriter(file.openWriter())) {
+                if(!packageName.isEmpty())
+                    out.println("package " + packageName + ";");
+                out.println();
+                out.println("/**");
+                out.println(" * Adds the event listening methods of {@link " + typeName + "}. Generated by the event manager annotation processor.");
+                out.println(" */");
+                out.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+                out.println("public final class " + registrarName + " implements " + REGISTRAR + "<" + typeName + "> {");
+                out.println();
+                out.println("    @Override");
+                out.println("    public void addListeners(final " + typeName + " classObject, final " + REGISTRAR + ".Listeners listeners) {");
+                for(String line: lines)
+                    out.println("        " + line);
+                out.println("    }");
+                out.println("}");
+            }
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not generate the registrar: " + e.getMessage(), type);
+        }
+    }
+
+    /**
+     * @param type The class to check
+     * @return If the class and all classes enclosing it are public
+     */
+    private boolean isAccessible(TypeElement type) {
+        for(Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            if(!element.getModifiers().contains(Modifier.PUBLIC))
+                return false;
+        }
+        return true;
+    }
+}
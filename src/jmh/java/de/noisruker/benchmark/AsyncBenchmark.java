@@ -0,0 +1,53 @@
+package de.noisruker.benchmark;
+
+import de.noisruker.event.EventManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency from submitting events via the async trigger methods of the {@link EventManager} until their results are handled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AsyncBenchmark {
+
+    private static final int BATCH_SIZE = 40;
+
+    private EventManager manager;
+
+    @Setup
+    public void setup() {
+        this.manager = new EventManager() {};
+        this.manager.registerEventListener(BenchmarkEvents.Depth0.class, e -> e.setResult(1));
+    }
+
+    @Benchmark
+    public Integer submitToResult() throws Exception {
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        this.manager.triggerEventAsync(new BenchmarkEvents.Depth0(), result::complete);
+        return result.get();
+    }
+
+    @Benchmark
+    public Integer submitToFuture() throws Exception {
+        return this.manager.triggerEventAsync(new BenchmarkEvents.Depth0()).get();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<Integer> submitBatchToResults() throws Exception {
+        List<BenchmarkEvents.Depth0> events = new ArrayList<>(BATCH_SIZE);
+        for(int i = 0; i < BATCH_SIZE; i++)
+            events.add(new BenchmarkEvents.Depth0());
+        return this.manager.triggerEventsAsync(events).get();
+    }
+
+}
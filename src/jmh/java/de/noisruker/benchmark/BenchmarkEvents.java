@@ -0,0 +1,137 @@
+package de.noisruker.benchmark;
+
+import de.noisruker.event.events.Event;
+
+/**
+ * Event classes used by the benchmarks.
+ * <p>
+ * The {@code Depth} classes form a single hierarchy to measure the dispatch cost depending on the depth of the triggered event.
+ * The {@code Filler} classes are unrelated events used to fill the event manager with registered event classes.
+ */
+public final class BenchmarkEvents {
+
+    private BenchmarkEvents() {
+    }
+
+    /**
+     * @param depth The depth of the event in the {@code Depth} hierarchy
+     * @return A new event of the given depth
+     */
+    public static Event<Integer> depthEvent(int depth) {
+        switch (depth) {
+            case 0: return new Depth0();
+            case 1: return new Depth1();
+            case 2: return new Depth2();
+            case 3: return new Depth3();
+            case 4: return new Depth4();
+            case 5: return new Depth5();
+            case 6: return new Depth6();
+            case 7: return new Depth7();
+            case 8: return new Depth8();
+            default: throw new IllegalArgumentException("No event with depth " + depth);
+        }
+    }
+
+    /**
+     * The filler event classes in order of their declaration
+     */
+    @SuppressWarnings("unchecked")
+    public static final Class<? extends Event<?>>[] FILLERS = new Class[] {
+            Filler00.class, Filler01.class, Filler02.class, Filler03.class, Filler04.class, Filler05.class, Filler06.class, Filler07.class,
+            Filler08.class, Filler09.class, Filler10.class, Filler11.class, Filler12.class, Filler13.class, Filler14.class, Filler15.class,
+            Filler16.class, Filler17.class, Filler18.class, Filler19.class, Filler20.class, Filler21.class, Filler22.class, Filler23.class,
+            Filler24.class, Filler25.class, Filler26.class, Filler27.class, Filler28.class, Filler29.class, Filler30.class, Filler31.class,
+            Filler32.class, Filler33.class, Filler34.class, Filler35.class, Filler36.class, Filler37.class, Filler38.class, Filler39.class,
+            Filler40.class, Filler41.class, Filler42.class, Filler43.class, Filler44.class, Filler45.class, Filler46.class, Filler47.class,
+            Filler48.class, Filler49.class, Filler50.class, Filler51.class, Filler52.class, Filler53.class, Filler54.class, Filler55.class,
+            Filler56.class, Filler57.class, Filler58.class, Filler59.class, Filler60.class, Filler61.class, Filler62.class, Filler63.class
+    };
+
+    public static class Depth0 extends Event<Integer> {
+        public Depth0() {
+            super("depth");
+        }
+    }
+
+    public static class Depth1 extends Depth0 { }
+
+    public static class Depth2 extends Depth1 { }
+
+    public static class Depth3 extends Depth2 { }
+
+    public static class Depth4 extends Depth3 { }
+
+    public static class Depth5 extends Depth4 { }
+
+    public static class Depth6 extends Depth5 { }
+
+    public static class Depth7 extends Depth6 { }
+
+    public static class Depth8 extends Depth7 { }
+
+    public static final class Filler00 extends Event<Void> { public Filler00() { super("filler"); } }
+    public static final class Filler01 extends Event<Void> { public Filler01() { super("filler"); } }
+    public static final class Filler02 extends Event<Void> { public Filler02() { super("filler"); } }
+    public static final class Filler03 extends Event<Void> { public Filler03() { super("filler"); } }
+    public static final class Filler04 extends Event<Void> { public Filler04() { super("filler"); } }
+    public static final class Filler05 extends Event<Void> { public Filler05() { super("filler"); } }
+    public static final class Filler06 extends Event<Void> { public Filler06() { super("filler"); } }
+    public static final class Filler07 extends Event<Void> { public Filler07() { super("filler"); } }
+    public static final class Filler08 extends Event<Void> { public Filler08() { super("filler"); } }
+    public static final class Filler09 extends Event<Void> { public Filler09() { super("filler"); } }
+    public static final class Filler10 extends Event<Void> { public Filler10() { super("filler"); } }
+    public static final class Filler11 extends Event<Void> { public Filler11() { super("filler"); } }
+    public static final class Filler12 extends Event<Void> { public Filler12() { super("filler"); } }
+    public static final class Filler13 extends Event<Void> { public Filler13() { super("filler"); } }
+    public static final class Filler14 extends Event<Void> { public Filler14() { super("filler"); } }
+    public static final class Filler15 extends Event<Void> { public Filler15() { super("filler"); } }
+    public static final class Filler16 extends Event<Void> { public Filler16() { super("filler"); } }
+    public static final class Filler17 extends Event<Void> { public Filler17() { super("filler"); } }
+    public static final class Filler18 extends Event<Void> { public Filler18() { super("filler"); } }
+    public static final class Filler19 extends Event<Void> { public Filler19() { super("filler"); } }
+    public static final class Filler20 extends Event<Void> { public Filler20() { super("filler"); } }
+    public static final class Filler21 extends Event<Void> { public Filler21() { super("filler"); } }
+    public static final class Filler22 extends Event<Void> { public Filler22() { super("filler"); } }
+    public static final class Filler23 extends Event<Void> { public Filler23() { super("filler"); } }
+    public static final class Filler24 extends Event<Void> { public Filler24() { super("filler"); } }
+    public static final class Filler25 extends Event<Void> { public Filler25() { super("filler"); } }
+    public static final class Filler26 extends Event<Void> { public Filler26() { super("filler"); } }
+    public static final class Filler27 extends Event<Void> { public Filler27() { super("filler"); } }
+    public static final class Filler28 extends Event<Void> { public Filler28() { super("filler"); } }
+    public static final class Filler29 extends Event<Void> { public Filler29() { super("filler"); } }
+    public static final class Filler30 extends Event<Void> { public Filler30() { super("filler"); } }
+    public static final class Filler31 extends Event<Void> { public Filler31() { super("filler"); } }
+    public static final class Filler32 extends Event<Void> { public Filler32() { super("filler"); } }
+    public static final class Filler33 extends Event<Void> { public Filler33() { super("filler"); } }
+    public static final class Filler34 extends Event<Void> { public Filler34() { super("filler"); } }
+    public static final class Filler35 extends Event<Void> { public Filler35() { super("filler"); } }
+    public static final class Filler36 extends Event<Void> { public Filler36() { super("filler"); } }
+    public static final class Filler37 extends Event<Void> { public Filler37() { super("filler"); } }
+    public static final class Filler38 extends Event<Void> { public Filler38() { super("filler"); } }
+    public static final class Filler39 extends Event<Void> { public Filler39() { super("filler"); } }
+    public static final class Filler40 extends Event<Void> { public Filler40() { super("filler"); } }
+    public static final class Filler41 extends Event<Void> { public Filler41() { super("filler"); } }
+    public static final class Filler42 extends Event<Void> { public Filler42() { super("filler"); } }
+    public static final class Filler43 extends Event<Void> { public Filler43() { super("filler"); } }
+    public static final class Filler44 extends Event<Void> { public Filler44() { super("filler"); } }
+    public static final class Filler45 extends Event<Void> { public Filler45() { super("filler"); } }
+    public static final class Filler46 extends Event<Void> { public Filler46() { super("filler"); } }
+    public static final class Filler47 extends Event<Void> { public Filler47() { super("filler"); } }
+    public static final class Filler48 extends Event<Void> { public Filler48() { super("filler"); } }
+    public static final class Filler49 extends Event<Void> { public Filler49() { super("filler"); } }
+    public static final class Filler50 extends Event<Void> { public Filler50() { super("filler"); } }
+    public static final class Filler51 extends Event<Void> { public Filler51() { super("filler"); } }
+    public static final class Filler52 extends Event<Void> { public Filler52() { super("filler"); } }
+    public static final class Filler53 extends Event<Void> { public Filler53() { super("filler"); } }
+    public static final class Filler54 extends Event<Void> { public Filler54() { super("filler"); } }
+    public static final class Filler55 extends Event<Void> { public Filler55() { super("filler"); } }
+    public static final class Filler56 extends Event<Void> { public Filler56() { super("filler"); } }
+    public static final class Filler57 extends Event<Void> { public Filler57() { super("filler"); } }
+    public static final class Filler58 extends Event<Void> { public Filler58() { super("filler"); } }
+    public static final class Filler59 extends Event<Void> { public Filler59() { super("filler"); } }
+    public static final class Filler60 extends Event<Void> { public Filler60() { super("filler"); } }
+    public static final class Filler61 extends Event<Void> { public Filler61() { super("filler"); } }
+    public static final class Filler62 extends Event<Void> { public Filler62() { super("filler"); } }
+    public static final class Filler63 extends Event<Void> { public Filler63() { super("filler"); } }
+
+}
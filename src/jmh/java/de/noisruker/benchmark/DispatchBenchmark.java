@@ -0,0 +1,47 @@
+package de.noisruker.benchmark;
+
+import de.noisruker.event.EventManager;
+import de.noisruker.event.events.Event;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of {@link EventManager#triggerEvent(Event)} depending on the number of registered event classes and the depth of the triggered event in its class hierarchy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+
+    @Param({"1", "16", "64"})
+    public int registeredClasses;
+
+    @Param({"0", "4", "8"})
+    public int depth;
+
+    private EventManager manager;
+
+    private Event<Integer> event;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        this.manager = new EventManager() {};
+        for(int i = 0; i < this.registeredClasses; i++)
+            this.manager.registerEventListener(BenchmarkEvents.FILLERS[i], blackhole::consume);
+
+        this.event = BenchmarkEvents.depthEvent(this.depth);
+        this.manager.registerEventListener(BenchmarkEvents.Depth0.class, e -> e.setResult(1));
+        this.manager.registerEventListener(this.event.getClass(), blackhole::consume);
+    }
+
+    @Benchmark
+    public Integer triggerEvent() {
+        return this.manager.triggerEvent(this.event);
+    }
+
+}
@@ -0,0 +1,51 @@
+package de.noisruker.benchmark;
+
+import de.noisruker.event.EventManager;
+import de.noisruker.event.events.EventListener;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the dispatch cost of lambda listeners with listeners registered as {@link EventListener} annotated methods.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListenerBenchmark {
+
+    private EventManager lambdaManager, annotatedManager;
+
+    private final BenchmarkEvents.Depth0 event = new BenchmarkEvents.Depth0();
+
+    @Setup
+    public void setup() {
+        this.lambdaManager = new EventManager() {};
+        this.lambdaManager.registerEventListener(BenchmarkEvents.Depth0.class, e -> e.setResult(e.getResult() == null ? 1 : e.getResult() + 1));
+
+        this.annotatedManager = new EventManager() {};
+        this.annotatedManager.registerEventListeners(Listeners.class, new Listeners());
+    }
+
+    @Benchmark
+    public Integer lambdaListener() {
+        return this.lambdaManager.triggerEvent(this.event);
+    }
+
+    @Benchmark
+    public Integer annotatedListener() {
+        return this.annotatedManager.triggerEvent(this.event);
+    }
+
+    public static class Listeners {
+
+        @EventListener
+        public void onEvent(BenchmarkEvents.Depth0 e) {
+            e.setResult(e.getResult() == null ? 1 : e.getResult() + 1);
+        }
+    }
+
+}
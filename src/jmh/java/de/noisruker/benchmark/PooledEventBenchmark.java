@@ -0,0 +1,44 @@
+package de.noisruker.benchmark;
+
+import de.noisruker.event.EventManager;
+import de.noisruker.event.events.EventPool;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares triggering a new event every time with triggering events reused via an {@link EventPool}. Run with {@code -prof gc} to see the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PooledEventBenchmark {
+
+    private EventManager manager;
+
+    private EventPool<BenchmarkEvents.Depth0> pool;
+
+    @Setup
+    public void setup() {
+        this.manager = new EventManager() {};
+        this.manager.registerEventListener(BenchmarkEvents.Depth0.class, e -> e.setResult(1));
+        this.pool = this.manager.getEventPool(BenchmarkEvents.Depth0.class, BenchmarkEvents.Depth0::new);
+    }
+
+    @Benchmark
+    public Integer newEvent() {
+        return this.manager.triggerEvent(new BenchmarkEvents.Depth0());
+    }
+
+    @Benchmark
+    public Integer pooledEvent() {
+        BenchmarkEvents.Depth0 event = this.pool.acquire();
+        Integer result = this.manager.triggerEvent(event);
+        this.pool.release(event);
+        return result;
+    }
+
+}
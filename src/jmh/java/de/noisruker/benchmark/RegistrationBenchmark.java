@@ -0,0 +1,79 @@
+package de.noisruker.benchmark;
+
+import de.noisruker.event.EventManager;
+import de.noisruker.event.events.Event;
+import de.noisruker.event.events.EventListener;
+import de.noisruker.event.events.IEventListener;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of registering listeners to a new {@link EventManager}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistrationBenchmark {
+
+    private static final IEventListener<Event<?>> LISTENER = e -> { };
+
+    @Param({"1", "16", "64"})
+    public int registeredClasses;
+
+    private Map<Class<? extends Event>, List<IEventListener<?>>> bulk;
+
+    @Setup
+    public void setup() {
+        this.bulk = new HashMap<>();
+        for(int i = 0; i < this.registeredClasses; i++)
+            this.bulk.put(BenchmarkEvents.FILLERS[i], List.of(LISTENER));
+    }
+
+    @Benchmark
+    public EventManager registerEventListener() {
+        EventManager manager = new EventManager() {};
+        for(int i = 0; i < this.registeredClasses; i++)
+            manager.registerEventListener((Class) BenchmarkEvents.FILLERS[i], LISTENER);
+        return manager;
+    }
+
+    @Benchmark
+    public EventManager registerAll() {
+        EventManager manager = new EventManager() {};
+        manager.registerAll(this.bulk);
+        return manager;
+    }
+
+    @Benchmark
+    public EventManager registerEventListeners() {
+        EventManager manager = new EventManager() {};
+        manager.registerEventListeners(Listeners.class, new Listeners());
+        return manager;
+    }
+
+    public static class Listeners {
+
+        @EventListener
+        public void onFiller0(BenchmarkEvents.Filler00 e) { }
+
+        @EventListener
+        public void onFiller1(BenchmarkEvents.Filler01 e) { }
+
+        @EventListener
+        public void onFiller2(BenchmarkEvents.Filler02 e) { }
+
+        @EventListener
+        public void onFiller3(BenchmarkEvents.Filler03 e) { }
+
+        @EventListener
+        public void onDepth(BenchmarkEvents.Depth0 e) { }
+    }
+
+}
@@ -0,0 +1,79 @@
+package de.noisruker.benchmark;
+
+import de.noisruker.event.EventManager;
+import de.noisruker.event.RingBufferEventBus;
+import de.noisruker.event.WaitStrategy;
+import de.noisruker.threading.ExecutorConfiguration;
+import de.noisruker.threading.QueueType;
+import de.noisruker.threading.RejectionPolicy;
+import de.noisruker.threading.ThreadManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the throughput of handing events to listeners via a {@link RingBufferEventBus} with the async trigger of the {@link EventManager} on the {@link ThreadManager}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RingBufferBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"BUSY_SPIN", "YIELD", "PARK"})
+    public WaitStrategy waitStrategy;
+
+    private final AtomicLong handled = new AtomicLong();
+
+    private EventManager manager;
+
+    private RingBufferEventBus<BenchmarkEvents.Depth0> bus;
+
+    private final BenchmarkEvents.Depth0 event = new BenchmarkEvents.Depth0();
+
+    @Setup
+    public void setup() {
+        this.manager = new EventManager() {};
+        this.manager.registerEventListener(BenchmarkEvents.Depth0.class, e -> this.handled.incrementAndGet());
+
+        ThreadManager.getInstance().configure(new ExecutorConfiguration().setQueue(QueueType.ARRAY, 1024).setRejectionPolicy(RejectionPolicy.BLOCK));
+
+        this.bus = new RingBufferEventBus<>(this.manager, 1024, this.waitStrategy);
+        this.bus.start();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        this.bus.stop();
+        ThreadManager.getInstance().configure(new ExecutorConfiguration());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void ringBuffer() {
+        long target = this.handled.get() + BATCH_SIZE;
+        for(int i = 0; i < BATCH_SIZE; i++)
+            this.bus.publish(this.event);
+        this.await(target);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void threadManager() {
+        long target = this.handled.get() + BATCH_SIZE;
+        for(int i = 0; i < BATCH_SIZE; i++)
+            this.manager.triggerEventAsync(this.event, result -> { });
+        this.await(target);
+    }
+
+    private void await(long target) {
+        while (this.handled.get() < target)
+            Thread.onSpinWait();
+    }
+
+}
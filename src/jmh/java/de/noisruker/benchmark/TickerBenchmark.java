@@ -0,0 +1,42 @@
+package de.noisruker.benchmark;
+
+import de.noisruker.threading.TaskHandle;
+import de.noisruker.threading.ThreadManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the interval between two ticks of the {@link ThreadManager} ticker. The percentiles of the sampled times show the tickers jitter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TickerBenchmark {
+
+    private final SynchronousQueue<Long> ticks = new SynchronousQueue<>();
+
+    private TaskHandle task;
+
+    @Setup
+    public void setup() {
+        this.task = ThreadManager.getInstance().executeContinuously(() -> this.ticks.offer(System.nanoTime()), 1);
+        ThreadManager.getInstance().startTicker();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.task.cancel();
+        ThreadManager.getInstance().stopTicker();
+    }
+
+    @Benchmark
+    public Long tickInterval() throws InterruptedException {
+        return this.ticks.take();
+    }
+
+}
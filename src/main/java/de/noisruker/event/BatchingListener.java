@@ -0,0 +1,198 @@
+/*
+ Event Manager
+ BatchingListener.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event;
+
+import de.noisruker.event.events.Event;
+import de.noisruker.event.events.IBatchEventListener;
+import de.noisruker.event.events.IEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the events it listens to and hands them to an {@link IBatchEventListener} in batches.
+ * <p>
+ * A batch is delivered on the triggering thread as soon as it reaches its maximum size, otherwise by the periodic flush.
+ * Batches are delivered one after another in order of their events. If the batch listener throws, the batch is dropped.
+ * The failure of a batch delivered on the triggering thread is thrown to the dispatch, the failure of a periodic flush is reported to the {@link EventManager}.
+ * So both are passed to its {@link de.noisruker.event.events.IListenerErrorHandler} and count towards the circuit breaker of this listener.
+ *
+ * @param <T> The events class
+ */
+class BatchingListener<T extends Event> implements IEventListener<T> {
+
+    /**
+     * The listener receiving the batches
+     */
+    private final IBatchEventListener<T> listener;
+    /**
+     * The maximum number of events of a batch
+     */
+    private final int maxSize;
+    /**
+     * The events collected since the last delivery
+     */
+    private List<T> buffer;
+    /**
+     * Guards the delivery, so batches are delivered one after another
+     */
+    private final Object delivery;
+    /**
+     * The event manager to report the failures of periodic flushes to
+     */
+    private final EventManager manager;
+    /**
+     * Stops the periodic flush
+     */
+    private volatile Runnable stop;
+
+    /**
+     * Creates a new batching listener. The periodic flush has to be started via {@link BatchingListener#setStop(Runnable)} by its creator.
+     *
+     * @param listener The listener receiving the batches
+     * @param maxSize The maximum number of events of a batch
+     * @param manager The event manager to report the failures of periodic flushes to
+     */
+    BatchingListener(IBatchEventListener<T> listener, int maxSize, EventManager manager) {
+        if(maxSize <= 0)
+            throw new IllegalArgumentException("The maximum batch size must be positive, but was " + maxSize);
+        this.listener = listener;
+        this.maxSize = maxSize;
+        this.buffer = new ArrayList<>();
+        this.delivery = new Object();
+        this.manager = manager;
+    }
+
+    @Override
+    public void listen(T event) {
+        boolean full;
+        synchronized (this) {
+            this.buffer.add(event);
+            full = this.buffer.size() >= this.maxSize;
+        }
+        if(full)
+            this.flush(true);
+    }
+
+    /**
+     * Delivers all collected events to the batch listener and reports the failure of a dropped batch to the {@link EventManager}
+     */
+    void flush() {
+        this.flush(false);
+    }
+
+    /**
+     * Delivers all collected events to the batch listener, split into batches of at most the maximum size
+     *
+     * @param inline If the flush runs on the triggering thread, so the failure of a dropped batch is thrown to the dispatch instead of being reported
+     */
+    private void flush(boolean inline) {
+        T failedEvent = null;
+        RuntimeException failure = null;
+        synchronized (this.delivery) {
+            List<T> events;
+            synchronized (this) {
+                if(this.buffer.isEmpty())
+                    return;
+                events = this.buffer;
+                this.buffer = new ArrayList<>();
+            }
+            for(int from = 0; from < events.size(); from += this.maxSize) {
+                List<T> batch = events.subList(from, Math.min(events.size(), from + this.maxSize));
+                try {
+                    this.listener.listen(batch);
+                } catch (RuntimeException e) {
+                    if(failure == null) {
+                        failure = e;
+                        failedEvent = batch.get(0);
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+        }
+        if(failure == null)
+            return;
+        if(inline)
+            throw failure;
+        try {
+            this.manager.reportFailure(failedEvent, this, failure);
+        } catch (RuntimeException handlerFailure) {
+            if(handlerFailure != failure)
+                handlerFailure.addSuppressed(failure);
+            Thread current = Thread.currentThread();
+            current.getUncaughtExceptionHandler().uncaughtException(current, handlerFailure);
+        }
+    }
+
+    /**
+     * @param stop Stops the periodic flush
+     */
+    void setStop(Runnable stop) {
+        this.stop = stop;
+    }
+
+    /**
+     * Stops the periodic flush and delivers the remaining events
+     */
+    void close() {
+        Runnable stop = this.stop;
+        if(stop != null)
+            stop.run();
+        this.flush();
+    }
+
+    /**
+     * Schedules the flush of the given listener on the dedicated flusher thread
+     *
+     * @param listener The listener to flush
+     * @param delay The time between two flushes
+     * @param unit The unit of the delay
+     * @return Stops the flush
+     */
+    static Runnable scheduleDedicated(BatchingListener<?> listener, long delay, TimeUnit unit) {
+        ScheduledFuture<?> future = FlusherHolder.FLUSHER.scheduleWithFixedDelay(listener::flush, delay, delay, unit);
+        return () -> future.cancel(false);
+    }
+
+    @Override
+    public String toString() {
+        return this.listener.toString();
+    }
+
+    /**
+     * Holds the dedicated flusher thread. The thread is only started, once a listener uses it.
+     */
+    private static class FlusherHolder {
+
+        /**
+         * The dedicated flusher thread
+         */
+        private static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "EventManager batch flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ Event Manager
+ EventCoalescer.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event;
+
+import de.noisruker.event.events.Event;
+import de.noisruker.threading.TaskHandle;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Buffers the triggered events of a class by a key and dispatches only the latest, or merged, event of every key on each flush.
+ * The flushes are scheduled on the ticker of the {@link de.noisruker.threading.ThreadManager}.
+ *
+ * @param <T> The coalesced events class
+ */
+class EventCoalescer<T extends Event<?>> {
+
+    /**
+     * Returns the key to coalesce an event under
+     */
+    private final Function<? super T, ?> keyExtractor;
+    /**
+     * Combines a buffered event with a later one of the same key
+     */
+    private final BinaryOperator<T> merge;
+    /**
+     * Dispatches the events on a flush
+     */
+    private final Consumer<Event<?>> dispatcher;
+    /**
+     * The buffered events by their key
+     */
+    private final Map<Object, T> pending;
+    /**
+     * The ticking task flushing this coalescer
+     */
+    private volatile TaskHandle task;
+    /**
+     * If the coalescer was removed. Events offered afterwards are dispatched directly.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Creates a new coalescer. It isn't flushed until {@link EventCoalescer#setTask(TaskHandle)} is called with the flushing task.
+     *
+     * @param keyExtractor Returns the key to coalesce an event under or {@code null} to dispatch it without coalescing
+     * @param merge Combines a buffered event with a later one of the same key
+     * @param dispatcher Dispatches the events on a flush
+     */
+    EventCoalescer(Function<? super T, ?> keyExtractor, BinaryOperator<T> merge, Consumer<Event<?>> dispatcher) {
+        this.keyExtractor = keyExtractor;
+        this.merge = merge;
+        this.dispatcher = dispatcher;
+        this.pending = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Buffers the event under its key.
+     * <p>
+     * A trigger may still hold the dispatch table of a removed coalescer, so events offered after {@link EventCoalescer#close()} aren't buffered anymore.
+     *
+     * @param event The triggered event
+     * @return If the event was buffered or dispatched, {@code false} if it has no key or the coalescer is closed and it has to be dispatched directly
+     */
+    boolean offer(Event<?> event) {
+        if(this.closed)
+            return false;
+        T coalesced = (T) event;
+        Object key = this.keyExtractor.apply(coalesced);
+        if(key == null)
+            return false;
+        this.pending.merge(key, coalesced, this.merge);
+
+        // The coalescer was closed while buffering, so its last flush may have missed the event
+        if(this.closed) {
+            T missed = this.pending.remove(key);
+            if(missed != null)
+                this.dispatcher.accept(missed);
+        }
+        return true;
+    }
+
+    /**
+     * Dispatches the buffered event of every key, in no particular order. Events buffered while flushing are dispatched by this or the next flush.
+     */
+    void flush() {
+        for(Object key: this.pending.keySet()) {
+            T event = this.pending.remove(key);
+            if(event != null)
+                this.dispatcher.accept(event);
+        }
+    }
+
+    /**
+     * @param task The ticking task flushing this coalescer
+     */
+    void setTask(TaskHandle task) {
+        this.task = task;
+    }
+
+    /**
+     * Stops the flushing task and dispatches all buffered events
+     */
+    void close() {
+        this.closed = true;
+        TaskHandle task = this.task;
+        if(task != null)
+            task.cancel();
+        this.flush();
+    }
+
+    /**
+     * @return The number of buffered events
+     */
+    int size() {
+        return this.pending.size();
+    }
+}
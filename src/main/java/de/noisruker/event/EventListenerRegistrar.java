@@ -0,0 +1,65 @@
+/*
+ Event Manager
+ EventListenerRegistrar.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event;
+
+import de.noisruker.event.events.Event;
+import de.noisruker.event.events.IEventListener;
+
+/**
+ * Adds the {@link de.noisruker.event.events.EventListener event listening methods} of a class without reflection.
+ * <p>
+ * Implementations are generated at compile time by the {@code event-manager-processor} annotation processor.
+ * The registrar of the class {@code a.b.Outer.Inner} is named {@code a.b.Outer_$Inner_EventListenerRegistrar}, the one of {@code a.b.Outer_Inner} is named {@code a.b.Outer__Inner_EventListenerRegistrar}.
+ * Underscores in the class name are doubled and {@code $} is replaced by {@code _$}, so the names of different classes never collide.
+ * If it is present, {@link EventManager#registerEventListeners(Class, Object)} uses it instead of scanning the class.
+ *
+ * @param <T> The class containing the event listening methods
+ */
+public interface EventListenerRegistrar<T> {
+
+    /**
+     * The suffix of the generated registrars names
+     */
+    String SUFFIX = "_EventListenerRegistrar";
+
+    /**
+     * Adds all event listening methods of the class.
+     *
+     * @param classObject The instance to call the methods on or {@code null}, if only static methods should be added
+     * @param listeners The listeners to add the methods to
+     */
+    void addListeners(T classObject, Listeners listeners);
+
+    /**
+     * Collects the listeners added by a registrar
+     */
+    interface Listeners {
+
+        /**
+         * Adds the listener calling an event listening method.
+         *
+         * @param eventClassO The events class the method is listening to
+         * @param method The name of the method in the form {@code Class#method}
+         * @param listener The listener calling the method or {@code null}, if the method needs an instance but none was given
+         * @param <eventClass> The events class
+         */
+        <eventClass extends Event> void add(Class<eventClass> eventClassO, String method, IEventListener<eventClass> listener);
+    }
+}
@@ -21,15 +21,61 @@ package de.noisruker.event;
 
 import de.noisruker.event.events.Event;
 import de.noisruker.event.events.EventListener;
+import de.noisruker.event.events.EventPool;
+import de.noisruker.event.events.IBatchEventListener;
 import de.noisruker.event.events.IEventListener;
 import de.noisruker.event.events.IEventResultManager;
+import de.noisruker.event.events.IListenerErrorHandler;
+import de.noisruker.event.events.IPartitionedEvent;
+import de.noisruker.event.jfr.AsyncHandoffJfrEvent;
+import de.noisruker.event.journal.EventJournal;
+import de.noisruker.event.jfr.DispatchJfrEvent;
+import de.noisruker.event.jfr.ListenerJfrEvent;
+import de.noisruker.event.metrics.EventMetrics;
+import de.noisruker.event.metrics.LogHistogram;
+import de.noisruker.threading.DiscardableTask;
+import de.noisruker.threading.TaskHandle;
 import de.noisruker.threading.ThreadManager;
 
+import java.io.IOException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.Cleaner;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * This class is used for handling all event managing.
@@ -52,6 +98,32 @@ public class EventManager {
      */
     private static final EventManager instance = new EventManager();
 
+    /**
+     * The key extractor of listeners registered for an event name. All of them share this instance, so they share one {@link KeyIndex}.
+     */
+    private static final Function<Event, Object> EVENT_NAME = Event::getEventName;
+
+    /**
+     * Replaces the {@code null} key of keyed listeners in their {@link KeyIndex}
+     */
+    private static final Object NULL_KEY = new Object();
+
+    /**
+     * Marks the classes without a generated {@link EventListenerRegistrar} in {@link EventManager#REGISTRARS}
+     */
+    private static final EventListenerRegistrar<Object> NO_REGISTRAR = (classObject, listeners) -> { };
+
+    /**
+     * The generated {@link EventListenerRegistrar} of every class or {@link EventManager#NO_REGISTRAR}, so the registrar of a class is only looked up once
+     */
+    private static final ClassValue<EventListenerRegistrar<?>> REGISTRARS = new ClassValue<>() {
+        @Override
+        protected EventListenerRegistrar<?> computeValue(Class<?> type) {
+            EventListenerRegistrar<?> registrar = findRegistrar(type);
+            return registrar == null ? NO_REGISTRAR : registrar;
+        }
+    };
+
     /**
      * @return The {@link EventManager#instance main instance} of the {@link EventManager}.
      */
@@ -61,9 +133,86 @@ public class EventManager {
     }
 
     /**
-     * A list of all known {@link EventListenerHolder}.
+     * All known {@link EventListenerHolder}s indexed by their events class.
+     */
+    private final Map<Class<?>, EventListenerHolder<? extends Event<?>>> listeners;
+
+    /**
+     * The number of {@link EventListenerHolder}s created so far. Used to keep the holders in order of their creation.
+     */
+    private int holderCount;
+
+    /**
+     * The dispatch tables mapping a concrete events class to all listeners, that have to be called for it.
+     * <p>
+     * The tables are built lazily on the first trigger of an events class and are dropped on every change of the {@link EventManager#listeners}.
+     */
+    private final Map<Class<?>, DispatchTable> dispatchTable;
+
+    /**
+     * The registered partition key extractors by the events class they are registered for
+     */
+    private final Map<Class<?>, Function<?, ?>> partitionKeys;
+
+    /**
+     * The coalescers buffering the events of a class and its subclasses by the events class they are registered for
+     */
+    private final Map<Class<?>, EventCoalescer<?>> coalescers;
+
+    /**
+     * The reducers of events classes, whose listeners are called in parallel, by the events class they are registered for
+     */
+    private final Map<Class<?>, BinaryOperator<?>> parallelReducers;
+
+    /**
+     * The lanes running async events with a partition key
      */
-    private final List<EventListenerHolder<? extends Event<?>>> listeners;
+    private volatile PartitionLanes lanes;
+
+    /**
+     * The pools of reusable events by their events class
+     */
+    private final Map<Class<?>, EventPool<?>> eventPools;
+
+    /**
+     * The metrics to record to or {@code null} if metrics are disabled
+     */
+    private volatile EventMetrics metrics;
+
+    /**
+     * The journal to append triggered events to or {@code null} if no events are journaled
+     */
+    private volatile EventJournal journal;
+
+    /**
+     * The subscriptions of every owner, so all listeners of an owner can be removed at once
+     */
+    private final Map<OwnerKey, List<Registration>> owners;
+
+    /**
+     * The indexes of keyed listeners by the events class and the key extractor they are registered with. Only accessed while holding the lock of the {@link EventManager#dispatchTable}.
+     */
+    private final Map<Class<?>, Map<Function<?, ?>, KeyIndex>> keyIndexes;
+
+    /**
+     * The failure counters and circuit breakers of all listeners in a dispatch table. Only accessed while holding the lock of the {@link EventManager#dispatchTable}.
+     */
+    private final Map<IEventListener<?>, ListenerHealth> health;
+
+    /**
+     * Handles the exceptions thrown by listeners
+     */
+    private volatile IListenerErrorHandler errorHandler;
+
+    /**
+     * The failures in a row after which a listener is disabled or {@code 0} if listeners are never disabled
+     */
+    private volatile int breakerThreshold;
+
+    /**
+     * The nanoseconds a disabled listener is skipped, before it is called again
+     */
+    private volatile long breakerCooldown;
 
     /**
      * Creates an {@link EventManager}.
@@ -72,20 +221,60 @@ public class EventManager {
      * Please use {@link EventManager#getInstance()} to get the current active instance of this class.
      */
     protected EventManager() {
-        this.listeners = new CopyOnWriteArrayList<>();
+        this.listeners = new ConcurrentHashMap<>();
+        this.holderCount = 0;
+        this.dispatchTable = new ConcurrentHashMap<>();
+        this.partitionKeys = new ConcurrentHashMap<>();
+        this.coalescers = new ConcurrentHashMap<>();
+        this.parallelReducers = new ConcurrentHashMap<>();
+        this.eventPools = new ConcurrentHashMap<>();
+        this.owners = new ConcurrentHashMap<>();
+        this.keyIndexes = new HashMap<>();
+        this.health = new WeakHashMap<>();
+        this.errorHandler = ListenerErrorLog.INSTANCE;
+        this.lanes = new PartitionLanes(Runtime.getRuntime().availableProcessors(), this);
     }
 
     /**
      * Registers all event listening Methods of a class. All those Methods must annotate the {@link EventListener} @interface.
      * Please consider your methods are accessible by the classObject. If they are not an error will be thrown, and you will not receive any event
+     * <p>
+     * If the class was compiled with the {@code event-manager-processor} annotation processor, its generated {@link EventListenerRegistrar} is used and the class isn't scanned via reflection.
+     * <p>
+     * The listeners keep the classObject reachable until they are removed via the returned {@link Subscription} or {@link EventManager#unregisterAll(Object)}.
+     * @param <eventClass> The events class. Your class and the classObject if not null should extend this same class.
+     * @param c The class containing all the event listeners
+     * @param classObject An instance of the class or {@code null}, if all methods are public and static
+     * @return The subscription of all registered listeners
+     */
+    public <eventClass> Subscription registerEventListeners(Class<eventClass> c, final eventClass classObject) {
+        return this.registerEventListeners(c, classObject, false);
+    }
+
+    /**
+     * Registers all event listening Methods of a class like {@link EventManager#registerEventListeners(Class, Object)}.
+     * <p>
+     * If weak is {@code true}, the listeners only hold a weak reference to the classObject. Once the classObject is garbage collected its listeners are removed,
+     * either by the next trigger reaching them or by a cleaner thread. Weak listeners are always bound at runtime, so a generated {@link EventListenerRegistrar} isn't used for them.
      * @param <eventClass> The events class. Your class and the classObject if not null should extend this same class.
      * @param c The class containing all the event listeners
      * @param classObject An instance of the class or {@code null}, if all methods are public and static
+     * @param weak If the listeners should only hold a weak reference to the classObject
+     * @return The subscription of all registered listeners
      */
-    public <eventClass>void registerEventListeners(Class<eventClass> c, final eventClass classObject) {
+    public <eventClass> Subscription registerEventListeners(Class<eventClass> c, final eventClass classObject, boolean weak) {
+        Registration registration = new Registration(classObject, weak && classObject != null);
         // Checks if a class is given and then checks all declared Methods of this class
         if(c == null)
-            return;
+            return registration;
+        Map<Class<? extends Event>, List<IEventListener<?>>> found = new LinkedHashMap<>();
+
+        EventListenerRegistrar<?> registrar = registration.weak ? NO_REGISTRAR : REGISTRARS.get(c);
+        if(registrar != NO_REGISTRAR) {
+            ((EventListenerRegistrar<eventClass>) registrar).addListeners(classObject, new ListenerCollector(found));
+            return this.publish(registration, found);
+        }
+
         for(Method m: c.getDeclaredMethods()) {
             // Checks for all methods holding the EventListener annotation
             if(m.isAnnotationPresent(EventListener.class)) {
@@ -103,21 +292,125 @@ public class EventManager {
                 // Checks if the EventParameters are valid
                 Parameter[] params = m.getParameters();
                 if(params.length == 1 && Event.class.isAssignableFrom(params[0].getType())) {
-                    Class<? extends Event<?>> eventClass = (Class<? extends Event<?>>) params[0].getType();
+                    Class<Event<?>> eventClass = (Class<Event<?>>) params[0].getType();
 
-                    // Register the event for this method
-                    this.put(eventClass, event -> {
-                        try {
-                            m.invoke(classObject, eventClass.cast(event));
-                        } catch (InvocationTargetException e) {
-                            System.err.println("Event was invoked from target.");
-                        } catch (IllegalAccessException | IllegalArgumentException e) {
-                            System.err.println("Could not fire Event due to missing permissions.");
-                        }
-                    });
+                    // Collect the listener for this method
+                    found.computeIfAbsent(eventClass, k -> new ArrayList<>()).add(registration.weak && !Modifier.isStatic(m.getModifiers()) ?
+                            this.bindWeakListener(m, classObject, eventClass, registration) : this.bindListener(m, classObject, eventClass));
                 }
             }
         }
+        return this.publish(registration, found);
+    }
+
+    /**
+     * Returns the generated {@link EventListenerRegistrar} of the given class. The registrar is looked up once per class, as registrars are stateless.
+     *
+     * @param c The class containing the event listening methods
+     * @return The registrar or {@code null}, if none was generated or it can't be accessed
+     */
+    private static EventListenerRegistrar<?> findRegistrar(Class<?> c) {
+        String name = c.getName();
+        int packageEnd = name.lastIndexOf('.') + 1;
+        // Escapes the class name the same way the annotation processor does, so nested and top level classes never share a registrar name
+        String registrarName = name.substring(0, packageEnd) + name.substring(packageEnd).replace("_", "__").replace("$", "_$") + EventListenerRegistrar.SUFFIX;
+        try {
+            Class<?> registrar = Class.forName(registrarName, true, c.getClassLoader());
+            if(!EventListenerRegistrar.class.isAssignableFrom(registrar))
+                return null;
+            EventManager.class.getModule().addReads(registrar.getModule());
+            return (EventListenerRegistrar<?>) registrar.getConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            ListenerErrorLog.INSTANCE.log(() -> "Registrar of " + name + " can't be used by the EventManager. Falling back to reflection.", e);
+            return null;
+        }
+    }
+
+    /**
+     * Creates the listener calling the given event listening method.
+     * <p>
+     * The method is bound to a generated {@link IEventListener} implementation via the {@link LambdaMetafactory}, so calling it is a direct call instead of a reflective one.
+     * If the method can't be bound this way, the listener falls back to {@link Method#invoke(Object, Object...)}.
+     *
+     * @param m The event listening method
+     * @param classObject The instance to call the method on or {@code null} if the method is static
+     * @param eventClass The events class the method is listening to
+     * @param <eventClass> The events class
+     * @return The listener calling the method
+     */
+    private <eventClass extends Event<?>> IEventListener<eventClass> bindListener(final Method m, final Object classObject, final Class<eventClass> eventClass) {
+        try {
+            // The generated listener is defined in this module, so it must be able to read the listening class
+            EventManager.class.getModule().addReads(m.getDeclaringClass().getModule());
+
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            boolean isStatic = Modifier.isStatic(m.getModifiers());
+            CallSite site = LambdaMetafactory.metafactory(lookup, "listen",
+                    isStatic ? MethodType.methodType(IEventListener.class) : MethodType.methodType(IEventListener.class, m.getDeclaringClass()),
+                    MethodType.methodType(void.class, Event.class),
+                    lookup.unreflect(m),
+                    MethodType.methodType(void.class, eventClass));
+            final IEventListener<eventClass> bound = (IEventListener<eventClass>) (isStatic ? site.getTarget().invoke() : site.getTarget().invoke(classObject));
+
+            return new MethodListener<>(m.getDeclaringClass().getName() + "#" + m.getName(), bound);
+        } catch (Throwable t) {
+            ListenerErrorLog.INSTANCE.log(() -> "Method " + m.getName() + " can't be bound by the EventManager. Falling back to reflection.", t);
+            return new MethodListener<>(m.getDeclaringClass().getName() + "#" + m.getName(), event -> invoke(m, classObject, event));
+        }
+    }
+
+    /**
+     * Creates the listener calling the given event listening method on the owner, while only holding a weak reference to the owner.
+     * If the owner is garbage collected, the listener removes its subscription on its next call.
+     *
+     * @param m The event listening method
+     * @param owner The instance to call the method on
+     * @param eventClass The events class the method is listening to
+     * @param registration The subscription the listener belongs to
+     * @param <eventClass> The events class
+     * @return The listener calling the method
+     */
+    private <eventClass extends Event<?>> IEventListener<eventClass> bindWeakListener(final Method m, final Object owner, final Class<eventClass> eventClass, final Registration registration) {
+        BiConsumer<Object, Object> invoker;
+        try {
+            EventManager.class.getModule().addReads(m.getDeclaringClass().getModule());
+
+            // Binds the method without its instance, so the listener doesn't capture the owner
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    lookup.unreflect(m),
+                    MethodType.methodType(void.class, m.getDeclaringClass(), eventClass));
+            invoker = (BiConsumer<Object, Object>) site.getTarget().invoke();
+        } catch (Throwable t) {
+            invoker = (target, event) -> invoke(m, target, event);
+        }
+        return new WeakListener<>(m.getDeclaringClass().getName() + "#" + m.getName(), owner, invoker, registration);
+    }
+
+    /**
+     * Calls an event listening method via reflection. Exceptions of the method are rethrown unwrapped, so the {@link IListenerErrorHandler} gets the actual cause.
+     *
+     * @param m The event listening method
+     * @param target The instance to call the method on or {@code null} if the method is static
+     * @param event The event to call the method with
+     */
+    private static void invoke(Method m, Object target, Object event) {
+        try {
+            m.invoke(target, event);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if(cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if(cause instanceof Error)
+                throw (Error) cause;
+            throw new IllegalStateException("Event was invoked from target.", cause);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Could not fire Event due to missing permissions.", e);
+        }
     }
 
     /**
@@ -126,9 +419,183 @@ public class EventManager {
      * @param eventClassO The events class object (On wich event the Listener wants to listen)
      * @param listener The listener to call on event trigger (The listener that will be called when an event with the events class is triggered)
      * @param <eventClass> The events class
+     * @return The subscription of the listener
+     */
+    public <eventClass extends Event> Subscription registerEventListener(Class<? extends eventClass> eventClassO, IEventListener<eventClass> listener) {
+        return this.publish(new Registration(null, false), Collections.singletonMap(eventClassO, Collections.singletonList(listener)));
+    }
+
+    /**
+     * Registers an event handler, that is only called for events with the given {@link Event#getEventName() name}.
+     *
+     * @param eventClassO The events class object (On wich event the Listener wants to listen)
+     * @param eventName The name of the events to call the listener for
+     * @param listener The listener to call on event trigger
+     * @param <eventClass> The events class
+     * @return The subscription of the listener
+     * @see EventManager#registerEventListener(Class, Function, Object, IEventListener)
+     */
+    public <eventClass extends Event> Subscription registerEventListener(Class<? extends eventClass> eventClassO, String eventName, IEventListener<eventClass> listener) {
+        return this.registerEventListener(eventClassO, EVENT_NAME, eventName, listener);
+    }
+
+    /**
+     * Registers an event handler, that is only called for events whose key equals the given key.
+     * <p>
+     * The listeners of an events class registered with the same key extractor instance share a hash index, which is called like a single listener registered with the first of them.
+     * It extracts the key of every event once and only calls the listeners registered for that key, so the cost of a trigger doesn't grow with the number of listeners for other keys.
+     * Adding or removing a keyed listener doesn't rebuild the dispatch tables, unless it is the first or last one of its index.
+     *
+     * @param eventClassO The events class object (On wich event the Listener wants to listen)
+     * @param keyExtractor Returns the key of an event. Pass the same instance for all listeners of the class to share one index.
+     * @param key The key of the events to call the listener for
+     * @param listener The listener to call on event trigger
+     * @param <eventClass> The events class
+     * @return The subscription of the listener
+     */
+    public <eventClass extends Event> Subscription registerEventListener(Class<? extends eventClass> eventClassO, Function<? super eventClass, ?> keyExtractor, Object key, IEventListener<eventClass> listener) {
+        Registration registration = new Registration(null, false);
+        final KeyedEntry entry;
+        synchronized (this.dispatchTable) {
+            Map<Function<?, ?>, KeyIndex> indexes = this.keyIndexes.computeIfAbsent(eventClassO, k -> new HashMap<>());
+            KeyIndex index = indexes.get(keyExtractor);
+            if(index == null) {
+                index = new KeyIndex(eventClassO, (Function<Object, Object>) keyExtractor);
+                indexes.put(keyExtractor, index);
+                index.subscription = this.registerEventListener((Class) eventClassO, index);
+            }
+            entry = new KeyedEntry(listener, this.health.computeIfAbsent(listener, l -> new ListenerHealth()));
+            index.add(key, entry);
+        }
+        registration.onRemoved.set(() -> this.removeKeyed(eventClassO, keyExtractor, key, entry));
+        return registration;
+    }
+
+    /**
+     * Removes a keyed listener from its index and the index from the dispatch tables, once it is empty.
+     *
+     * @param eventClass The events class the listener was registered for
+     * @param keyExtractor The key extractor the listener was registered with
+     * @param key The key the listener was registered for
+     * @param entry The entry of the listener in the index
+     */
+    private void removeKeyed(Class<?> eventClass, Function<?, ?> keyExtractor, Object key, KeyedEntry entry) {
+        synchronized (this.dispatchTable) {
+            Map<Function<?, ?>, KeyIndex> indexes = this.keyIndexes.get(eventClass);
+            KeyIndex index = indexes == null ? null : indexes.get(keyExtractor);
+            if(index == null || !index.remove(key, entry))
+                return;
+            indexes.remove(keyExtractor);
+            if(indexes.isEmpty())
+                this.keyIndexes.remove(eventClass);
+            index.subscription.unsubscribe();
+        }
+    }
+
+    /**
+     * Registers a batch event handler. The triggered events are collected and delivered in batches of at most maxSize events,
+     * once a batch is full or by a flush of all collected events every maxDelay, rounded to whole ticks of the {@link ThreadManager}. The ticker has to be running for the periodic flush.
+     * <p>
+     * Full batches are delivered on the thread triggering the last event. Batches are delivered one after another in order of their events.
+     * Results set by the batch listener aren't returned by {@link EventManager#triggerEvent(Event)}. If the batch listener throws, the error is reported and the batch is dropped.
+     * Unsubscribing delivers the remaining events.
+     *
+     * @param eventClassO The events class object (On wich event the Listener wants to listen)
+     * @param listener The batch listener to deliver the events to
+     * @param maxSize The maximum number of events of a batch
+     * @param maxDelay The time between two flushes
+     * @param unit The unit of the delay
+     * @param <eventClass> The events class
+     * @return The subscription of the listener
+     * @throws IllegalArgumentException If the maximum size or the delay is not positive or the unit is null
+     */
+    public <eventClass extends Event> Subscription registerBatchListener(Class<? extends eventClass> eventClassO, IBatchEventListener<eventClass> listener, int maxSize, long maxDelay, TimeUnit unit) {
+        return this.registerBatchListener(eventClassO, listener, maxSize, maxDelay, unit, false);
+    }
+
+    /**
+     * Registers a batch event handler like {@link EventManager#registerBatchListener(Class, IBatchEventListener, int, long, TimeUnit)}.
+     *
+     * @param eventClassO The events class object (On wich event the Listener wants to listen)
+     * @param listener The batch listener to deliver the events to
+     * @param maxSize The maximum number of events of a batch
+     * @param maxDelay The time between two flushes
+     * @param unit The unit of the delay
+     * @param dedicatedFlusher If the periodic flush runs on a dedicated flusher thread instead of the ticker of the {@link ThreadManager}
+     * @param <eventClass> The events class
+     * @return The subscription of the listener
+     * @throws IllegalArgumentException If the maximum size or the delay is not positive or the unit is null
+     */
+    public <eventClass extends Event> Subscription registerBatchListener(Class<? extends eventClass> eventClassO, IBatchEventListener<eventClass> listener, int maxSize, long maxDelay, TimeUnit unit, boolean dedicatedFlusher) {
+        if(maxDelay <= 0)
+            throw new IllegalArgumentException("The maximum batch delay must be positive, but was " + maxDelay);
+        if(unit == null)
+            throw new IllegalArgumentException("The unit of the maximum batch delay must not be null");
+        BatchingListener<eventClass> batching = new BatchingListener<>(listener, maxSize, this);
+        if(dedicatedFlusher) {
+            batching.setStop(BatchingListener.scheduleDedicated(batching, maxDelay, unit));
+        } else {
+            TaskHandle task = ThreadManager.getInstance().executeContinuously(batching::flush, maxDelay, unit);
+            batching.setStop(task::cancel);
+        }
+
+        Registration registration = new Registration(null, false);
+        registration.onRemoved.set(batching::close);
+        return this.publish(registration, Collections.singletonMap(eventClassO, Collections.singletonList(batching)));
+    }
+
+    /**
+     * Registers many event handlers at once. All listeners are published together, so the dispatch tables are only rebuilt once.
+     *
+     * @param listeners The listeners to register mapped by the events class they are listening to
+     * @return The subscription of all registered listeners
+     */
+    public Subscription registerAll(Map<Class<? extends Event>, ? extends Collection<? extends IEventListener<?>>> listeners) {
+        return this.publish(new Registration(null, false), listeners);
+    }
+
+    /**
+     * Adds the listeners of a subscription to their holders and indexes the subscription by its owner.
+     *
+     * @param registration The subscription of the listeners
+     * @param listeners The listeners to add mapped by the events class they are listening to
+     * @return The subscription
+     */
+    private Subscription publish(Registration registration, Map<? extends Class<? extends Event>, ? extends Collection<? extends IEventListener<?>>> listeners) {
+        if(listeners == null || listeners.isEmpty())
+            return registration;
+        synchronized (this.dispatchTable) {
+            listeners.forEach((eventClass, eventListeners) -> {
+                this.get((Class) eventClass).addListeners((Collection) eventListeners);
+                registration.listeners.put(eventClass, new ArrayList<>(eventListeners));
+            });
+            if(registration.owner != null)
+                this.owners.computeIfAbsent(registration.owner, key -> new ArrayList<>()).add(registration);
+            this.dispatchTable.clear();
+        }
+        if(registration.owner != null)
+            registration.registerCleanup();
+        return registration;
+    }
+
+    /**
+     * Removes all listeners registered with the given object as classObject via {@link EventManager#registerEventListeners(Class, Object)}.
+     * The dispatch tables are only rebuilt once for all of them.
+     *
+     * @param owner The classObject the listeners were registered with
      */
-    public <eventClass extends Event> void registerEventListener(Class<? extends eventClass> eventClassO, IEventListener<eventClass> listener) {
-        this.put(eventClassO, listener);
+    public void unregisterAll(Object owner) {
+        if(owner == null)
+            return;
+        List<Registration> registrations;
+        synchronized (this.dispatchTable) {
+            registrations = this.owners.remove(new OwnerKey(owner));
+            if(registrations == null)
+                return;
+            registrations.removeIf(registration -> !registration.removeListeners());
+            this.dispatchTable.clear();
+        }
+        registrations.forEach(Registration::removed);
     }
 
     /**
@@ -140,134 +607,1496 @@ public class EventManager {
      */
     @SuppressWarnings("unused")
     public <eventClass extends Event> void removeEventListener(Class<? extends eventClass> eventClassO, IEventListener<eventClass> listener) {
-        if(this.containsKey(eventClassO))
-            this.get(eventClassO).remove((IEventListener<? extends Event<?>>) listener);
+        EventListenerHolder<? extends Event<?>> holder = this.listeners.get(eventClassO);
+        if(holder == null)
+            return;
+        synchronized (this.dispatchTable) {
+            holder.remove((IEventListener<? extends Event<?>>) listener);
+            EventMetrics metrics = this.metrics;
+            if(metrics != null)
+                metrics.removeListener(listener);
+            this.dispatchTable.clear();
+        }
     }
 
     /**
      * Triggers an event
+     * <p>
+     * Once the dispatch table of the events class is built, triggering doesn't allocate. To also avoid creating a new event for every trigger, events can be reused via an {@link EventPool}.
+     * <p>
+     * Events of a {@link EventManager#registerCoalescing(Class, Function, BinaryOperator) coalesced} class are only buffered and dispatched on the next flush.
+     * Events of a class journaled by the {@link EventManager#setJournal(EventJournal) journal} are appended to it before they are dispatched.
+     * <p>
+     * Exceptions of listeners are passed to the {@link EventManager#setListenerErrorHandler(IListenerErrorHandler) error handler} and don't stop the remaining listeners from being called.
      *
      * @param event The event to trigger
      * @param <T> Return type of the Event
      * @param <eventClass> The events class
-     * @return The events result or {@code null} if the event has no result set.
+     * @return The events result or {@code null} if the event has no result set or was buffered for coalescing.
      */
     public <T, eventClass extends Event<T>> T triggerEvent(final eventClass event) {
         if(event == null)
             return null;
 
-        this.listeners.forEach(l -> l.callListener(event));
-
-        for(EventListenerHolder<?> l: this.listeners)
-            l.callListener(event);
-
-        return event.getResult();
+        return this.trigger(event, this.getDispatchTable(event.getClass()));
     }
 
     /**
-     * Triggers an event on an async thread in the future. After the event is handled the given resultManager is called to handle the events output.
+     * Journals, coalesces or dispatches the event as configured in its dispatch table.
      *
      * @param event The event to trigger
-     * @param resultManager The result manager instance to handle the events return
-     * @param <T> The events return type
-     * @param <eventClass> The events class
+     * @param table The dispatch table of the event
+     * @param <T> Return type of the Event
+     * @return The events result or {@code null} if the event has no result set or was buffered for coalescing.
      */
-    @SuppressWarnings("unused")
-    public <T, eventClass extends Event<T>>void triggerEventAsync(final eventClass event, final IEventResultManager<T> resultManager) {
-        ThreadManager.getInstance().executeAsync(() -> resultManager.handle(this.triggerEvent(event)));
+    private <T> T trigger(final Event<T> event, final DispatchTable table) {
+        if(table.journal != null) {
+            try {
+                table.journal.append(event);
+            } catch (IOException | IllegalStateException e) {
+                this.deliveryFailed(table.journal, e);
+            }
+        }
+        if(table.coalescer != null && table.coalescer.offer(event))
+            return null;
+        return this.dispatch(event, table);
     }
 
     /**
-     * Checks if the EventManager know an Event that is named by the key class
+     * Triggers an event that is only created if it would be handled, so producers don't pay for building events nobody listens to.
+     * <p>
+     * The event is created if a listener for the class is registered or the class is journaled by the {@link EventManager#setJournal(EventJournal) journal}.
+     * If the supplier returns an event of a subclass, it is triggered like any other event.
      *
-     * @param key The key to search for
-     * @param <eventClass> The class of the key
-     * @return If the event class is contained in the event managers events
+     * @param eventClassO The class of the event the supplier creates
+     * @param supplier Creates the event to trigger
+     * @param <T> Return type of the Event
+     * @param <eventClass> The events class
+     * @return The events result or {@code null} if the event wasn't created, has no result set or was buffered for coalescing.
      */
-    private <eventClass extends Event<?>> boolean containsKey(Class<? extends eventClass> key) {
-        for (EventListenerHolder<? extends Event<?>> holder: this.listeners) {
-            if(holder.eventsClass.equals(key))
-                return true;
-        }
-        return false;
+    public <T, eventClass extends Event<T>> T triggerEvent(final Class<eventClass> eventClassO, final Supplier<? extends eventClass> supplier) {
+        DispatchTable table = this.getDispatchTable(eventClassO);
+        if(table.listeners.length == 0 && table.journal == null)
+            return null;
+
+        eventClass event = supplier.get();
+        if(event == null || event.getClass() != eventClassO)
+            return this.triggerEvent(event);
+        return this.trigger(event, table);
     }
 
     /**
-     * Returns the event Classes {@link EventListenerHolder}.
+     * Checks if an event of the given class would be handled by any listener. This includes the listeners of the super classes and interfaces of the class.
+     * <p>
+     * The answer is cached together with the listeners until the next listener is registered or removed, so this is as cheap as a map lookup.
      *
-     * @param eventClass The class to get the EventListener for
-     * @param <eventClass> The class
-     * @return The {@link EventListenerHolder} for the given event
+     * @param eventClass The concrete class of the event
+     * @return If at least one listener is registered for the class
      */
-    private <eventClass extends Event<?>> EventListenerHolder<eventClass> get(Class<? extends eventClass> eventClass) {
-        for (EventListenerHolder<? extends Event<?>> holder: this.listeners) {
-            if(holder.eventsClass.equals(eventClass))
-                return (EventListenerHolder<eventClass>) holder;
-        }
-        EventListenerHolder<eventClass> newHolder = new EventListenerHolder<>((Class<eventClass>) eventClass);
-        this.listeners.add(newHolder);
-        return newHolder;
+    public boolean hasListeners(Class<? extends Event> eventClass) {
+        return this.getDispatchTable(eventClass).listeners.length > 0;
     }
 
     /**
-     * Adds the given {@link IEventListener} to the eventClasses {@link EventListenerHolder} or create a new one if no {@link EventListenerHolder} exists.
+     * Calls all listeners of the dispatch table with the event.
      *
-     * @param eventClass The events class
-     * @param listener The listener for the event
-     * @param <eventClass> The class the listener must handle and the eventClass must extend
+     * @param event The event to dispatch
+     * @param table The dispatch table of the event
+     * @param <T> Return type of the Event
+     * @return The events result or {@code null} if the event has no result set.
      */
-    private <eventClass extends Event<?>> void put(Class<? extends eventClass> eventClass, IEventListener<eventClass> listener) {
-        EventListenerHolder<eventClass> holder = this.get(eventClass);
-        holder.addListener(listener);
+    private <T> T dispatch(final Event<T> event, final DispatchTable table) {
+        if(table.reducer != null && table.listeners.length > 1) {
+            this.dispatchParallel(event, table);
+            return event.getResult();
+        }
+        if(table.metrics != null || isRecordingDispatch()) {
+            this.triggerRecorded(event, table);
+            return event.getResult();
+        }
+
+        IEventListener[] listeners = table.listeners;
+        ListenerHealth[] health = table.health;
+        for(int i = 0; i < listeners.length; i++) {
+            if(!health[i].allows(table.breakerCooldown))
+                continue;
+            try {
+                listeners[i].listen(event);
+                health[i].succeeded();
+            } catch (HandlerFailure e) {
+                throw e.failure;
+            } catch (Exception e) {
+                this.listenerFailed(event, listeners[i], health[i], table.breakerThreshold, table.breakerCooldown, e);
+            }
+        }
+
+        return event.getResult();
     }
 
     /**
-     * The event listener holder is used to hold the list of {@link IEventListener}s for the Specific events class
-     * @param <T> The class of the Event, for which the holder holds listeners
+     * Calls all listeners of the dispatch table while recording the dispatch to the metrics and the Java Flight Recorder.
+     *
+     * @param event The event to trigger
+     * @param table The dispatch table of the event
      */
-    private static class EventListenerHolder<T extends Event<?>> {
-
-        /**
-         * The event Class that the holder holds listener for
-         */
-        private final Class<T> eventsClass;
-        /**
-         * The listeners the holder holds
-         */
-        private final List<IEventListener<T>> listeners;
+    private void triggerRecorded(final Event<?> event, final DispatchTable table) {
+        IEventListener[] listeners = table.listeners;
+        DispatchJfrEvent dispatch = new DispatchJfrEvent();
+        dispatch.begin();
+        if(table.metrics != null)
+            table.triggerCount.increment();
 
-        /**
-         * Creates a new EventListenerHolder for the given class, with no listeners
-         *
-         * @param eventsClass The class to create the holder for
-         */
-        EventListenerHolder(Class<T> eventsClass) {
-            this.eventsClass = eventsClass;
-            this.listeners = new CopyOnWriteArrayList<>();
+        ListenerHealth[] health = table.health;
+        for(int i = 0; i < listeners.length; i++) {
+            if(!health[i].allows(table.breakerCooldown))
+                continue;
+            ListenerJfrEvent invocation = new ListenerJfrEvent();
+            invocation.begin();
+            long start = System.nanoTime();
+            try {
+                listeners[i].listen(event);
+                health[i].succeeded();
+            } catch (HandlerFailure e) {
+                throw e.failure;
+            } catch (Exception e) {
+                this.listenerFailed(event, listeners[i], health[i], table.breakerThreshold, table.breakerCooldown, e);
+            } finally {
+                if(table.latencies != null)
+                    table.latencies[i].record(System.nanoTime() - start);
+                invocation.end();
+                if(invocation.shouldCommit()) {
+                    invocation.eventClass = event.getClass();
+                    invocation.listener = listeners[i].toString();
+                    invocation.commit();
+                }
+            }
         }
 
-        /**
-         * If this EventListener instance is listening to the given events object.
-         *
-         * @param event The event to check listening for
-         * @return If the event object is an instance of the EventListenerHolders event class
-         */
-        public boolean isListeningTo(Event<?> event) {
-            return eventsClass.isInstance(event);
+        dispatch.end();
+        if(dispatch.shouldCommit()) {
+            dispatch.eventClass = event.getClass();
+            dispatch.listeners = listeners.length;
+            dispatch.commit();
         }
+    }
 
-        /**
-         * Checks whether this EventListenerHolder is listening to the given event object and calls the listeners if it is so.
-         * @param event The triggered event to call the EventListeners for
-         */
-        public void callListener(final Event<?> event) {
-            if(this.isListeningTo(event)) {
-                for(IEventListener<T> l: this.listeners)
-                    l.listen(eventsClass.cast(event));
+    /**
+     * Calls all listeners of the dispatch table in parallel and combines their results with the reducer of the table.
+     * <p>
+     * The listeners are claimed one by one by the triggering thread and by helper tasks on the {@link ThreadManager}, so the triggering thread never waits for a listener that hasn't started yet.
+     * Exceptions of listeners are passed to the {@link IListenerErrorHandler}. If the handler throws, the first of its exceptions is rethrown after all listeners returned.
+     *
+     * @param event The event to trigger
+     * @param table The dispatch table of the event
+     * @param <T> Return type of the Event
+     */
+    private <T> void dispatchParallel(final Event<T> event, final DispatchTable table) {
+        final IEventListener[] listeners = table.listeners;
+        final ListenerHealth[] health = table.health;
+        final AtomicInteger next = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(listeners.length);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        if(table.metrics != null)
+            table.triggerCount.increment();
+
+        Runnable worker = () -> {
+            for(int i = next.getAndIncrement(); i < listeners.length; i = next.getAndIncrement()) {
+                if(!health[i].allows(table.breakerCooldown)) {
+                    done.countDown();
+                    continue;
+                }
+                long start = System.nanoTime();
+                try {
+                    try {
+                        listeners[i].listen(event);
+                        health[i].succeeded();
+                    } catch (HandlerFailure e) {
+                        throw e.failure;
+                    } catch (Exception e) {
+                        this.listenerFailed(event, listeners[i], health[i], table.breakerThreshold, table.breakerCooldown, e);
+                    }
+                } catch (Throwable t) {
+                    if(!failure.compareAndSet(null, t))
+                        failure.get().addSuppressed(t);
+                } finally {
+                    if(table.latencies != null)
+                        table.latencies[i].record(System.nanoTime() - start);
+                    done.countDown();
+                }
+            }
+        };
+
+        event.beginParallelDispatch((BinaryOperator<T>) table.reducer);
+        try {
+            // More helpers than cores wouldn't speed up CPU bound listeners
+            int helpers = Math.min(listeners.length, Runtime.getRuntime().availableProcessors()) - 1;
+            for(int helper = 0; helper < helpers; helper++) {
+                try {
+                    ThreadManager.getInstance().executeAsync(worker);
+                } catch (RejectedExecutionException e) {
+                    break;
+                }
+            }
+            worker.run();
+
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    done.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
             }
+            if(interrupted)
+                Thread.currentThread().interrupt();
+        } finally {
+            event.endParallelDispatch();
         }
 
-        /**
+        Throwable thrown = failure.get();
+        if(thrown instanceof RuntimeException)
+            throw (RuntimeException) thrown;
+        if(thrown instanceof Error)
+            throw (Error) thrown;
+        if(thrown != null)
+            throw new IllegalStateException("Listener failed while dispatching in parallel", thrown);
+    }
+
+    /**
+     * @return If a Java Flight Recorder recording is running, that records dispatches or listener invocations
+     */
+    private static boolean isRecordingDispatch() {
+        return new DispatchJfrEvent().isEnabled() || new ListenerJfrEvent().isEnabled();
+    }
+
+    /**
+     * Counts the failure of a listener and passes its exception to the {@link IListenerErrorHandler}
+     *
+     * @param event The event the listener was called with
+     * @param listener The failed listener
+     * @param health The failure counter and circuit breaker of the listener
+     * @param threshold The failures in a row after which the listener is disabled or {@code 0} if listeners are never disabled
+     * @param cooldown The nanoseconds a disabled listener is skipped
+     * @param e The thrown exception
+     */
+    private void listenerFailed(Event<?> event, IEventListener<?> listener, ListenerHealth health, int threshold, long cooldown, Exception e) {
+        IListenerErrorHandler handler = this.errorHandler;
+        boolean disabled = health.failed(threshold, cooldown);
+        try {
+            handler.handle(event, listener, e);
+        } finally {
+            if(disabled)
+                handler.disabled(listener, threshold);
+        }
+    }
+
+    /**
+     * Counts the failure of a listener called outside of the dispatch tables, like a {@link BatchingListener} flushed by its timer,
+     * and passes its exception to the {@link IListenerErrorHandler}
+     *
+     * @param event The event the listener was called with
+     * @param listener The failed listener
+     * @param e The thrown exception
+     */
+    void reportFailure(Event<?> event, IEventListener<?> listener, Exception e) {
+        ListenerHealth health;
+        synchronized (this.dispatchTable) {
+            health = this.health.computeIfAbsent(listener, l -> new ListenerHealth());
+        }
+        this.listenerFailed(event, listener, health, this.breakerThreshold, this.breakerCooldown, e);
+    }
+
+    /**
+     * Passes an exception raised while delivering events outside of a single listener call to the {@link IListenerErrorHandler}
+     *
+     * @param source The component that failed to deliver the events
+     * @param e The thrown exception
+     */
+    void deliveryFailed(Object source, Throwable e) {
+        this.errorHandler.deliveryFailed(source, e);
+    }
+
+    /**
+     * Sets the handler of exceptions thrown by listeners. By default, they are logged via the {@link System.Logger} of the {@link EventManager},
+     * at most one stack trace per second with the number of failures in between.
+     *
+     * @param handler The handler or {@code null} to log the exceptions
+     */
+    public void setListenerErrorHandler(IListenerErrorHandler handler) {
+        this.errorHandler = handler == null ? ListenerErrorLog.INSTANCE : handler;
+    }
+
+    /**
+     * @return The handler of exceptions thrown by listeners
+     */
+    public IListenerErrorHandler getListenerErrorHandler() {
+        return this.errorHandler;
+    }
+
+    /**
+     * Enables the circuit breaker of all listeners. A listener failing the given number of times in a row is skipped until the cooldown passed.
+     * Then it is called once again and either enabled on success or skipped for another cooldown.
+     *
+     * @param failures The failures in a row after which a listener is disabled or {@code 0} to never disable listeners
+     * @param cooldown The time a disabled listener is skipped
+     * @param unit The unit of the cooldown
+     */
+    public void setCircuitBreaker(int failures, long cooldown, TimeUnit unit) {
+        if(failures < 0 || cooldown < 0)
+            throw new IllegalArgumentException("The failures and the cooldown must not be negative");
+        synchronized (this.dispatchTable) {
+            this.breakerThreshold = failures;
+            this.breakerCooldown = unit.toNanos(cooldown);
+            this.dispatchTable.clear();
+        }
+    }
+
+    /**
+     * Returns the number of exceptions thrown by every listener, that failed at least once. Listeners are named like in the {@link EventMetrics}.
+     *
+     * @return The failures by the name of the listener
+     */
+    public Map<String, Long> getListenerFailures() {
+        Map<String, Long> failures = new TreeMap<>();
+        synchronized (this.dispatchTable) {
+            this.health.forEach((listener, health) -> {
+                long count = health.getFailures();
+                if(count == 0)
+                    return;
+                String name = listener.toString();
+                if(failures.containsKey(name))
+                    name += "#" + System.identityHashCode(listener);
+                failures.put(name, count);
+            });
+        }
+        return failures;
+    }
+
+    /**
+     * @param listener The listener
+     * @return If the listener is currently skipped by its circuit breaker
+     */
+    public boolean isListenerDisabled(IEventListener<?> listener) {
+        synchronized (this.dispatchTable) {
+            ListenerHealth health = this.health.get(listener);
+            return health != null && health.isOpen();
+        }
+    }
+
+    /**
+     * Returns the dispatch table for an event of the given class. It contains the listeners of the class itself and the listeners of all its super classes and interfaces.
+     * <p>
+     * The returned table is cached until the next listener is registered or removed.
+     *
+     * @param eventClass The concrete class of the triggered event
+     * @return The dispatch table of the class
+     */
+    private DispatchTable getDispatchTable(Class<?> eventClass) {
+        DispatchTable table = this.dispatchTable.get(eventClass);
+        if(table != null)
+            return table;
+
+        synchronized (this.dispatchTable) {
+            table = this.dispatchTable.get(eventClass);
+            if(table == null) {
+                List<EventListenerHolder<? extends Event<?>>> holders = new ArrayList<>();
+                for(EventListenerHolder<? extends Event<?>> holder: this.listeners.values()) {
+                    if(holder.isListeningTo(eventClass))
+                        holders.add(holder);
+                }
+                holders.sort(Comparator.comparingInt(holder -> holder.order));
+
+                List<IEventListener<?>> collected = new ArrayList<>();
+                for(EventListenerHolder<? extends Event<?>> holder: holders)
+                    collected.addAll(holder.getListeners());
+
+                Function<?, ?> partitionKey = null;
+                for(Class<?> c = eventClass; c != null && partitionKey == null; c = c.getSuperclass())
+                    partitionKey = this.partitionKeys.get(c);
+
+                EventCoalescer<?> coalescer = null;
+                for(Class<?> c = eventClass; c != null && coalescer == null; c = c.getSuperclass())
+                    coalescer = this.coalescers.get(c);
+
+                BinaryOperator<?> reducer = null;
+                for(Class<?> c = eventClass; c != null && reducer == null; c = c.getSuperclass())
+                    reducer = this.parallelReducers.get(c);
+
+                EventJournal journal = this.journal;
+
+                ListenerHealth[] health = new ListenerHealth[collected.size()];
+                for(int i = 0; i < health.length; i++)
+                    health[i] = this.health.computeIfAbsent(collected.get(i), listener -> new ListenerHealth());
+
+                table = new DispatchTable(collected.toArray(new IEventListener<?>[0]), health, this.breakerThreshold, this.breakerCooldown, (Function<Object, Object>) partitionKey, coalescer,
+                        (BinaryOperator<Object>) reducer, journal != null && journal.isJournaled(eventClass) ? journal : null, this.metrics, eventClass);
+                this.dispatchTable.put(eventClass, table);
+            }
+            return table;
+        }
+    }
+
+    /**
+     * Triggers an event on an async thread in the future. After the event is handled the given resultManager is called to handle the events output.
+     * <p>
+     * Events with a partition key are handled the same way, if the {@link ThreadManager} rejects the lane of their key: the event never runs on the calling thread,
+     * but the exception is thrown to the caller. Other events waiting in this lane are rejected as well and reported to the {@link IListenerErrorHandler} or their future.
+     *
+     * @param event The event to trigger
+     * @param resultManager The result manager instance to handle the events return
+     * @param <T> The events return type
+     * @param <eventClass> The events class
+     * @throws RejectedExecutionException If the {@link ThreadManager} rejects the task or the lane of the events partition key
+     */
+    @SuppressWarnings("unused")
+    public <T, eventClass extends Event<T>>void triggerEventAsync(final eventClass event, final IEventResultManager<T> resultManager) {
+        this.executeAsync(event, () -> resultManager.handle(this.triggerEvent(event)), e -> this.deliveryFailed(this, e));
+    }
+
+    /**
+     * Triggers an event on an async thread in the future.
+     * <p>
+     * If the {@link ThreadManager} rejects the task, the future is completed exceptionally with a {@link RejectedExecutionException}.
+     * The same applies to events with a partition key, if the lane of their key is rejected: the event never runs on the calling thread
+     * and all events waiting in this lane are completed exceptionally as well.
+     *
+     * @param event The event to trigger
+     * @param <T> The events return type
+     * @param <eventClass> The events class
+     * @return A future completed with the events result after all listeners are called, or completed exceptionally if the {@link IListenerErrorHandler} throws,
+     * the event can't be scheduled or it is dropped by the {@link de.noisruker.threading.RejectionPolicy#DISCARD_OLDEST} policy
+     */
+    public <T, eventClass extends Event<T>> CompletableFuture<T> triggerEventAsync(final eventClass event) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            this.executeAsync(event, () -> {
+                try {
+                    future.complete(this.triggerEvent(event));
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            }, future::completeExceptionally);
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Triggers many events on async threads in the future. The events are split into a few tasks, each handling a part of the events in order, instead of scheduling one task per event.
+     * Events with a partition key are handed to the lane of their key instead.
+     *
+     * @param events The events to trigger
+     * @param <T> The events return type
+     * @param <eventClass> The events class
+     * @return A future completed with the events results in order of the given events, or completed exceptionally with the first exception thrown while triggering them
+     */
+    public <T, eventClass extends Event<T>> CompletableFuture<List<T>> triggerEventsAsync(final Collection<eventClass> events) {
+        if(events == null || events.isEmpty())
+            return CompletableFuture.completedFuture(new ArrayList<>());
+
+        final Event<T>[] toTrigger = events.toArray(new Event[0]);
+        final Object[] results = new Object[toTrigger.length];
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+
+        // Events with a partition key go to their lane, all others are split into chunks
+        final int[] unpartitioned = new int[toTrigger.length];
+        int count = 0;
+        for(int i = 0; i < toTrigger.length; i++) {
+            Object key = this.getPartitionKey(toTrigger[i]);
+            if(key == null) {
+                unpartitioned[count++] = i;
+                continue;
+            }
+            final int index = i;
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            pending.add(done);
+            try {
+                this.lanes.execute(key, new AsyncTask(() -> {
+                    try {
+                        results[index] = this.triggerEvent(toTrigger[index]);
+                        done.complete(null);
+                    } catch (Throwable t) {
+                        done.completeExceptionally(t);
+                    }
+                }, done::completeExceptionally));
+            } catch (RejectedExecutionException e) {
+                done.completeExceptionally(e);
+            }
+        }
+
+        int tasks = Math.min(count, Runtime.getRuntime().availableProcessors());
+        int chunkSize = tasks == 0 ? 0 : (count + tasks - 1) / tasks;
+        for(int task = 0; task < tasks; task++) {
+            final int from = task * chunkSize, to = Math.min(count, from + chunkSize);
+            CompletableFuture<Void> chunk = new CompletableFuture<>();
+            pending.add(chunk);
+            try {
+                ThreadManager.getInstance().executeAsync(new AsyncTask(this.recordHandoff(null, null, () -> {
+                    Throwable failure = null;
+                    for(int i = from; i < to; i++) {
+                        try {
+                            results[unpartitioned[i]] = this.triggerEvent(toTrigger[unpartitioned[i]]);
+                        } catch (Throwable t) {
+                            if(failure == null)
+                                failure = t;
+                        }
+                    }
+                    if(failure == null)
+                        chunk.complete(null);
+                    else
+                        chunk.completeExceptionally(failure);
+                }), chunk::completeExceptionally));
+            } catch (RejectedExecutionException e) {
+                chunk.completeExceptionally(e);
+            }
+        }
+
+        return CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            List<T> list = new ArrayList<>(results.length);
+            for(Object result: results)
+                list.add((T) result);
+            return list;
+        });
+    }
+
+    /**
+     * Returns the pool of reusable events of the given class. The pool is created on the first call for the class.
+     *
+     * @param eventClassO The events class
+     * @param factory Creates new events, if the pool is empty. Only used if the pool doesn't exist yet.
+     * @param <eventClass> The events class
+     * @return The pool of the events class
+     */
+    public <eventClass extends Event<?>> EventPool<eventClass> getEventPool(Class<eventClass> eventClassO, Supplier<? extends eventClass> factory) {
+        return (EventPool<eventClass>) this.eventPools.computeIfAbsent(eventClassO, key -> new EventPool<>(64, factory));
+    }
+
+    /**
+     * Registers a partition key extractor for an events class and its subclasses. Async events with a partition key are handled one after another in order of their triggering, if they share the same key.
+     * Events implementing {@link IPartitionedEvent} don't need an extractor.
+     *
+     * @param eventClassO The events class
+     * @param keyExtractor The function returning the partition key of an event or {@code null} if the event has no partition
+     * @param <eventClass> The events class
+     */
+    public <eventClass extends Event<?>> void registerPartitionKey(Class<eventClass> eventClassO, Function<? super eventClass, ?> keyExtractor) {
+        synchronized (this.dispatchTable) {
+            this.partitionKeys.put(eventClassO, keyExtractor);
+            this.dispatchTable.clear();
+        }
+    }
+
+    /**
+     * Coalesces the events of a class and its subclasses by a key. Triggered events are buffered and only the latest event of every key is dispatched once per tick of the {@link ThreadManager}.
+     * The ticker has to be running for the events to be dispatched.
+     *
+     * @param eventClassO The events class
+     * @param keyExtractor The function returning the key of an event or {@code null} if the event should be dispatched directly
+     * @param <eventClass> The events class
+     */
+    public <eventClass extends Event<?>> void registerCoalescing(Class<eventClass> eventClassO, Function<? super eventClass, ?> keyExtractor) {
+        this.registerCoalescing(eventClassO, keyExtractor, (earlier, later) -> later);
+    }
+
+    /**
+     * Coalesces the events of a class and its subclasses by a key. Triggered events are buffered and merged with the buffered event of the same key.
+     * The merged event of every key is dispatched once per tick of the {@link ThreadManager}. The ticker has to be running for the events to be dispatched.
+     *
+     * @param eventClassO The events class
+     * @param keyExtractor The function returning the key of an event or {@code null} if the event should be dispatched directly
+     * @param merge Combines the buffered event with a later event of the same key
+     * @param <eventClass> The events class
+     */
+    public <eventClass extends Event<?>> void registerCoalescing(Class<eventClass> eventClassO, Function<? super eventClass, ?> keyExtractor, BinaryOperator<eventClass> merge) {
+        EventCoalescer<eventClass> coalescer = new EventCoalescer<>(keyExtractor, merge, this::dispatchCoalesced);
+        coalescer.setTask(ThreadManager.getInstance().executeContinuously(coalescer::flush, 1L));
+        this.putCoalescer(eventClassO, coalescer);
+    }
+
+    /**
+     * Coalesces the events of a class and its subclasses by a key. Triggered events are buffered and merged with the buffered event of the same key.
+     * The merged event of every key is dispatched once per window, rounded to whole ticks of the {@link ThreadManager}. The ticker has to be running for the events to be dispatched.
+     *
+     * @param eventClassO The events class
+     * @param keyExtractor The function returning the key of an event or {@code null} if the event should be dispatched directly
+     * @param merge Combines the buffered event with a later event of the same key
+     * @param window The time between two dispatches
+     * @param unit The unit of the window
+     * @param <eventClass> The events class
+     */
+    public <eventClass extends Event<?>> void registerCoalescing(Class<eventClass> eventClassO, Function<? super eventClass, ?> keyExtractor, BinaryOperator<eventClass> merge, long window, TimeUnit unit) {
+        EventCoalescer<eventClass> coalescer = new EventCoalescer<>(keyExtractor, merge, this::dispatchCoalesced);
+        coalescer.setTask(ThreadManager.getInstance().executeContinuously(coalescer::flush, window, unit));
+        this.putCoalescer(eventClassO, coalescer);
+    }
+
+    /**
+     * Stops coalescing the events of a class. The buffered events are dispatched before this method returns.
+     *
+     * @param eventClassO The events class coalescing was registered for
+     */
+    public void removeCoalescing(Class<? extends Event> eventClassO) {
+        this.putCoalescer(eventClassO, null);
+    }
+
+    /**
+     * Calls the listeners of an events class and its subclasses in parallel on the {@link ThreadManager}. The triggering thread takes part and waits until all listeners returned.
+     * <p>
+     * As the listeners run concurrently, the results they set are combined by the reducer instead of replacing each other, for example {@code Boolean::logicalAnd} or {@code Integer::sum}.
+     * The first result set is taken as it is, so the result the event had before dispatching is replaced. If no listener sets a result, it stays unchanged.
+     *
+     * @param eventClassO The events class
+     * @param reducer The thread safe function combining the current result with a newly set one
+     * @param <T> The events result type
+     * @param <eventClass> The events class
+     */
+    public <T, eventClass extends Event<T>> void registerParallelDispatch(Class<eventClass> eventClassO, BinaryOperator<T> reducer) {
+        synchronized (this.dispatchTable) {
+            this.parallelReducers.put(eventClassO, reducer);
+            this.dispatchTable.clear();
+        }
+    }
+
+    /**
+     * Calls the listeners of an events class one after another again.
+     *
+     * @param eventClassO The events class parallel dispatch was registered for
+     */
+    public void removeParallelDispatch(Class<? extends Event> eventClassO) {
+        synchronized (this.dispatchTable) {
+            this.parallelReducers.remove(eventClassO);
+            this.dispatchTable.clear();
+        }
+    }
+
+    /**
+     * Dispatches the buffered events of all coalesced classes now, without waiting for the next tick.
+     */
+    public void flushCoalesced() {
+        for(EventCoalescer<?> coalescer: this.coalescers.values())
+            coalescer.flush();
+    }
+
+    /**
+     * Replaces the coalescer of an events class. The replaced coalescer is stopped and its buffered events are dispatched.
+     *
+     * @param eventClassO The events class
+     * @param coalescer The new coalescer or {@code null} to stop coalescing
+     */
+    private void putCoalescer(Class<?> eventClassO, EventCoalescer<?> coalescer) {
+        EventCoalescer<?> replaced;
+        synchronized (this.dispatchTable) {
+            replaced = coalescer == null ? this.coalescers.remove(eventClassO) : this.coalescers.put(eventClassO, coalescer);
+            this.dispatchTable.clear();
+        }
+        if(replaced != null)
+            replaced.close();
+    }
+
+    /**
+     * Dispatches a buffered event without coalescing it again.
+     *
+     * @param event The buffered event
+     */
+    private void dispatchCoalesced(Event<?> event) {
+        this.dispatch(event, this.getDispatchTable(event.getClass()));
+    }
+
+    /**
+     * Sets the number of lanes running async events with a partition key. Events already handed to the old lanes are still handled in order.
+     * Events triggered afterwards may run in parallel to them, so this should be called before triggering partitioned events.
+     *
+     * @param count The number of lanes
+     * @throws IllegalArgumentException If the number is not positive
+     */
+    public void setPartitionLanes(int count) {
+        this.lanes = new PartitionLanes(count, this);
+    }
+
+    /**
+     * @return The number of lanes running async events with a partition key
+     */
+    public int getPartitionLanes() {
+        return this.lanes.size();
+    }
+
+    /**
+     * Returns the partition key of the given event.
+     *
+     * @param event The event
+     * @return The key returned by the event itself or by the extractor registered for its class. {@code null} if the event has no partition.
+     */
+    private Object getPartitionKey(Event<?> event) {
+        if(event instanceof IPartitionedEvent)
+            return ((IPartitionedEvent) event).getPartitionKey();
+        Function<Object, Object> extractor = this.getDispatchTable(event.getClass()).partitionKey;
+        return extractor == null ? null : extractor.apply(event);
+    }
+
+    /**
+     * Runs the given task of an event async. If the event has a partition key, the task runs on the lane of this key, otherwise it runs on the {@link ThreadManager}.
+     *
+     * @param event The event the task is triggering
+     * @param task The task to run
+     * @param discarded Called instead of the task, if the {@link ThreadManager} drops it from its full queue or rejects the lane of its partition key
+     * @throws RejectedExecutionException If the {@link ThreadManager} rejects the task or the lane of its partition key
+     */
+    private void executeAsync(Event<?> event, Runnable task, Consumer<RejectedExecutionException> discarded) {
+        Object key = this.getPartitionKey(event);
+        if(key == null)
+            ThreadManager.getInstance().executeAsync(new AsyncTask(this.recordHandoff(event, null, task), discarded));
+        else
+            this.lanes.execute(key, new AsyncTask(this.recordHandoff(event, key, task), discarded));
+    }
+
+    /**
+     * Wraps the given task to record the time between now and its start to the metrics and the Java Flight Recorder.
+     *
+     * @param event The event the task is triggering or {@code null} if it triggers many events
+     * @param key The partition key of the event or {@code null} if the event has no partition
+     * @param task The task to wrap
+     * @return The wrapped task or the task itself, if nothing is recorded
+     */
+    private Runnable recordHandoff(final Event<?> event, final Object key, final Runnable task) {
+        final EventMetrics metrics = this.metrics;
+        final AsyncHandoffJfrEvent handoff = new AsyncHandoffJfrEvent();
+        if(metrics == null && !handoff.isEnabled())
+            return task;
+
+        handoff.begin();
+        final long queued = System.nanoTime();
+        return () -> {
+            if(metrics != null)
+                metrics.recordAsyncQueueWait(System.nanoTime() - queued);
+            handoff.end();
+            if(handoff.shouldCommit()) {
+                handoff.eventClass = event == null ? null : event.getClass();
+                handoff.partitionKey = key == null ? null : String.valueOf(key);
+                handoff.commit();
+            }
+            task.run();
+        };
+    }
+
+    /**
+     * Enables or disables recording metrics. While disabled, triggering events doesn't read the clock or touch any counter.
+     *
+     * @param metrics The metrics to record to or {@code null} to disable recording
+     */
+    public void setMetrics(EventMetrics metrics) {
+        synchronized (this.dispatchTable) {
+            this.metrics = metrics;
+            this.dispatchTable.clear();
+        }
+    }
+
+    /**
+     * Sets the journal triggered events are appended to. Only events of classes with a serializer registered at the journal are appended,
+     * so serializers should be registered before the journal is set.
+     *
+     * @param journal The journal or {@code null} to stop journaling
+     */
+    public void setJournal(EventJournal journal) {
+        if(journal != null)
+            journal.setFailureHandler(e -> this.deliveryFailed(journal, e));
+        synchronized (this.dispatchTable) {
+            this.journal = journal;
+            this.dispatchTable.clear();
+        }
+    }
+
+    /**
+     * @return The journal triggered events are appended to or {@code null} if no events are journaled
+     */
+    public EventJournal getJournal() {
+        return this.journal;
+    }
+
+    /**
+     * Dispatches the journaled events with a sequence in the given range to the registered listeners again, in order of their sequence.
+     * Replayed events are neither appended to the journal again nor coalesced.
+     *
+     * @param journal The journal to read the events from
+     * @param fromSequence The first sequence to replay
+     * @param toSequence The last sequence to replay
+     * @throws IOException If the journal can't be read
+     */
+    public void replayJournal(EventJournal journal, long fromSequence, long toSequence) throws IOException {
+        journal.replay(fromSequence, toSequence, this::dispatchReplayed);
+    }
+
+    /**
+     * Dispatches the events journaled in the given time range to the registered listeners again, in order of their sequence.
+     * Replayed events are neither appended to the journal again nor coalesced.
+     *
+     * @param journal The journal to read the events from
+     * @param from The earliest time of the events to replay
+     * @param to The latest time of the events to replay
+     * @throws IOException If the journal can't be read
+     */
+    public void replayJournal(EventJournal journal, Instant from, Instant to) throws IOException {
+        journal.replay(from, to, this::dispatchReplayed);
+    }
+
+    /**
+     * Dispatches a replayed event directly to its listeners
+     *
+     * @param event The replayed event
+     */
+    private void dispatchReplayed(Event<?> event) {
+        this.dispatch(event, this.getDispatchTable(event.getClass()));
+    }
+
+    /**
+     * @return The metrics recorded to or {@code null} if metrics are disabled
+     */
+    public EventMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Returns the event Classes {@link EventListenerHolder} or creates a new one if no {@link EventListenerHolder} exists.
+     *
+     * @param eventClass The class to get the EventListener for
+     * @param <eventClass> The class
+     * @return The {@link EventListenerHolder} for the given event
+     */
+    private <eventClass extends Event<?>> EventListenerHolder<eventClass> get(Class<? extends eventClass> eventClass) {
+        return (EventListenerHolder<eventClass>) this.listeners.computeIfAbsent(eventClass, key -> new EventListenerHolder<>((Class<eventClass>) key, this.holderCount++));
+    }
+
+    /**
+     * The listeners registered together by one call, returned as their {@link Subscription}
+     */
+    private class Registration implements Subscription {
+
+        /**
+         * The owner of the listeners or {@code null} if they have no owner
+         */
+        private final OwnerKey owner;
+        /**
+         * If the listeners only hold a weak reference to their owner
+         */
+        private final boolean weak;
+        /**
+         * The registered listeners by the events class they are listening to
+         */
+        private final Map<Class<?>, List<IEventListener<?>>> listeners;
+        /**
+         * If the listeners are still registered
+         */
+        private final AtomicBoolean subscribed;
+        /**
+         * Called once after the listeners were removed or {@code null}
+         */
+        private final AtomicReference<Runnable> onRemoved;
+
+        /**
+         * Creates a new registration
+         *
+         * @param owner The owner of the listeners or {@code null} if they have no owner
+         * @param weak If the listeners only hold a weak reference to their owner
+         */
+        Registration(Object owner, boolean weak) {
+            this.owner = owner == null ? null : new OwnerKey(owner);
+            this.weak = weak;
+            this.listeners = new LinkedHashMap<>();
+            this.subscribed = new AtomicBoolean(true);
+            this.onRemoved = new AtomicReference<>();
+        }
+
+        @Override
+        public void unsubscribe() {
+            this.unsubscribeLocked();
+            this.removed();
+        }
+
+        /**
+         * Removes the listeners from their holders and the subscription from the owner index
+         */
+        private void unsubscribeLocked() {
+            synchronized (EventManager.this.dispatchTable) {
+                // Keyed registrations hold no listeners, their index is only removed from the dispatch tables once it is empty
+                boolean dispatched = !this.listeners.isEmpty();
+                if(!this.removeListeners())
+                    return;
+                if(this.owner != null) {
+                    List<Registration> registrations = EventManager.this.owners.get(this.owner);
+                    if(registrations != null) {
+                        registrations.remove(this);
+                        if(registrations.isEmpty())
+                            EventManager.this.owners.remove(this.owner);
+                    }
+                }
+                if(dispatched)
+                    EventManager.this.dispatchTable.clear();
+            }
+        }
+
+        @Override
+        public boolean isSubscribed() {
+            return this.subscribed.get();
+        }
+
+        /**
+         * Calls {@link Registration#onRemoved} once, if the listeners were removed, even if concurrent unsubscribes or the cleaner call this at the same time.
+         * It is called without holding any lock, as it may call listeners.
+         */
+        private void removed() {
+            if(this.subscribed.get())
+                return;
+            Runnable onRemoved = this.onRemoved.getAndSet(null);
+            if(onRemoved != null)
+                onRemoved.run();
+        }
+
+        /**
+         * Removes the listeners from their holders. Must be called while holding the lock of the dispatch tables.
+         *
+         * @return If the listeners were registered before
+         */
+        private boolean removeListeners() {
+            if(!this.subscribed.compareAndSet(true, false))
+                return false;
+            EventMetrics metrics = EventManager.this.metrics;
+            this.listeners.forEach((eventClass, eventListeners) -> {
+                EventListenerHolder<? extends Event<?>> holder = EventManager.this.listeners.get(eventClass);
+                if(holder != null)
+                    holder.removeAll(eventListeners);
+                if(metrics != null)
+                    eventListeners.forEach(metrics::removeListener);
+            });
+            // The handle may outlive the registration, so it must not keep the listeners reachable
+            this.listeners.clear();
+            return true;
+        }
+
+        /**
+         * Registers the cleanup of this subscription, once its owner is garbage collected.
+         * Weak subscriptions are unsubscribed, others only drop their entry in the owner index.
+         * <p>
+         * The cleanup action of a strong subscription must not reach its listeners, as they keep the owner reachable.
+         */
+        private void registerCleanup() {
+            Object owner = this.owner.get();
+            if(owner == null)
+                return;
+            if(this.weak) {
+                CleanerHolder.CLEANER.register(owner, this::unsubscribe);
+            } else {
+                final OwnerKey key = this.owner;
+                final Map<OwnerKey, List<Registration>> owners = EventManager.this.owners;
+                CleanerHolder.CLEANER.register(owner, () -> owners.remove(key));
+            }
+        }
+    }
+
+    /**
+     * Holds the cleaner removing the subscriptions of garbage collected owners. The cleaners thread is only started, once an owner is registered.
+     */
+    private static class CleanerHolder {
+
+        /**
+         * The cleaner removing the subscriptions of garbage collected owners
+         */
+        private static final Cleaner CLEANER = Cleaner.create();
+    }
+
+    /**
+     * A weak reference to the owner of subscriptions, that compares the owners by their identity
+     */
+    private static class OwnerKey extends WeakReference<Object> {
+
+        /**
+         * The identity hash code of the owner
+         */
+        private final int hash;
+
+        /**
+         * Creates a new key
+         *
+         * @param owner The owner
+         */
+        OwnerKey(Object owner) {
+            super(owner);
+            this.hash = System.identityHashCode(owner);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(this == o)
+                return true;
+            if(!(o instanceof OwnerKey))
+                return false;
+            Object owner = this.get();
+            return owner != null && owner == ((OwnerKey) o).get();
+        }
+    }
+
+    /**
+     * The listeners of an events class registered with the same key extractor, indexed by their key.
+     * The index is registered as a single listener and calls the listeners of the key of the event in order of their registration.
+     */
+    private class KeyIndex implements IEventListener<Event<?>> {
+
+        /**
+         * The events class the index is registered for
+         */
+        private final Class<?> eventClass;
+        /**
+         * Returns the key of an event
+         */
+        private final Function<Object, Object> keyExtractor;
+        /**
+         * The listeners by their key. The array of a key is replaced on every change, so it is read without locking and only the changed key is copied.
+         */
+        private final Map<Object, KeyedEntry[]> entries;
+        /**
+         * The subscription of the index itself
+         */
+        private Subscription subscription;
+
+        /**
+         * Creates an empty index
+         *
+         * @param eventClass The events class the index is registered for
+         * @param keyExtractor Returns the key of an event
+         */
+        KeyIndex(Class<?> eventClass, Function<Object, Object> keyExtractor) {
+            this.eventClass = eventClass;
+            this.keyExtractor = keyExtractor;
+            this.entries = new ConcurrentHashMap<>();
+        }
+
+        @Override
+        public void listen(Event<?> event) {
+            KeyedEntry[] entries = this.entries.get(maskNull(this.keyExtractor.apply(event)));
+            if(entries == null)
+                return;
+            int threshold = EventManager.this.breakerThreshold;
+            long cooldown = EventManager.this.breakerCooldown;
+            for(KeyedEntry entry: entries) {
+                if(!entry.health.allows(cooldown))
+                    continue;
+                try {
+                    entry.listener.listen(event);
+                    entry.health.succeeded();
+                } catch (Exception e) {
+                    try {
+                        EventManager.this.listenerFailed(event, entry.listener, entry.health, threshold, cooldown, e);
+                    } catch (RuntimeException handlerFailure) {
+                        throw new HandlerFailure(handlerFailure);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Adds a listener. Must be called while holding the lock of the dispatch tables.
+         *
+         * @param key The key to call the listener for
+         * @param entry The listener
+         */
+        void add(Object key, KeyedEntry entry) {
+            key = maskNull(key);
+            KeyedEntry[] previous = this.entries.get(key);
+            KeyedEntry[] added = previous == null ? new KeyedEntry[1] : Arrays.copyOf(previous, previous.length + 1);
+            added[added.length - 1] = entry;
+            this.entries.put(key, added);
+        }
+
+        /**
+         * Removes a listener. Must be called while holding the lock of the dispatch tables.
+         *
+         * @param key The key the listener was added for
+         * @param entry The listener
+         * @return If the listener was removed and the index is empty afterwards
+         */
+        boolean remove(Object key, KeyedEntry entry) {
+            key = maskNull(key);
+            KeyedEntry[] previous = this.entries.get(key);
+            int index = previous == null ? -1 : Arrays.asList(previous).indexOf(entry);
+            if(index < 0)
+                return false;
+            if(previous.length == 1) {
+                this.entries.remove(key);
+                return this.entries.isEmpty();
+            }
+            KeyedEntry[] remaining = new KeyedEntry[previous.length - 1];
+            System.arraycopy(previous, 0, remaining, 0, index);
+            System.arraycopy(previous, index + 1, remaining, index, remaining.length - index);
+            this.entries.put(key, remaining);
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return this.eventClass.getName() + "#keyed";
+        }
+    }
+
+    /**
+     * An async task handed to the {@link ThreadManager} or a partition lane, that reports when it is dropped from the full queue or its lane is rejected, so its future doesn't wait forever
+     */
+    static class AsyncTask implements DiscardableTask {
+
+        /**
+         * The task to run
+         */
+        private final Runnable task;
+        /**
+         * Called instead of the task, if it is dropped or rejected
+         */
+        private final Consumer<RejectedExecutionException> discarded;
+
+        /**
+         * Creates a new async task
+         *
+         * @param task The task to run
+         * @param discarded Called instead of the task, if it is dropped or rejected
+         */
+        AsyncTask(Runnable task, Consumer<RejectedExecutionException> discarded) {
+            this.task = task;
+            this.discarded = discarded;
+        }
+
+        @Override
+        public void run() {
+            this.task.run();
+        }
+
+        @Override
+        public void discarded() {
+            this.rejected(new RejectedExecutionException("The task was dropped from the full queue of the ThreadManager"));
+        }
+
+        /**
+         * Called instead of running the task, if it is rejected
+         *
+         * @param e The rejection
+         */
+        void rejected(RejectedExecutionException e) {
+            this.discarded.accept(e);
+        }
+    }
+
+    /**
+     * Carries an exception thrown by the {@link IListenerErrorHandler} for a listener of a {@link KeyIndex} out of the index,
+     * so the dispatch rethrows it instead of reporting it again as a failure of the index itself.
+     */
+    private static class HandlerFailure extends RuntimeException {
+
+        /**
+         * The exception thrown by the handler
+         */
+        private final RuntimeException failure;
+
+        /**
+         * Creates a new carrier without a stack trace
+         *
+         * @param failure The exception thrown by the handler
+         */
+        HandlerFailure(RuntimeException failure) {
+            super(null, failure, false, false);
+            this.failure = failure;
+        }
+    }
+
+    /**
+     * Replaces a {@code null} key of a {@link KeyIndex}, as its {@link ConcurrentHashMap} doesn't accept {@code null}
+     *
+     * @param key The key
+     * @return The key or {@link EventManager#NULL_KEY}, if the key is {@code null}
+     */
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    /**
+     * A listener of a {@link KeyIndex}
+     */
+    private static class KeyedEntry {
+
+        /**
+         * The listener to call
+         */
+        private final IEventListener listener;
+        /**
+         * The failure counter and circuit breaker of the listener
+         */
+        private final ListenerHealth health;
+
+        /**
+         * Creates a new entry
+         *
+         * @param listener The listener to call
+         * @param health The failure counter and circuit breaker of the listener
+         */
+        KeyedEntry(IEventListener<?> listener, ListenerHealth health) {
+            this.listener = listener;
+            this.health = health;
+        }
+    }
+
+    /**
+     * The dispatch table holds everything needed to trigger an event of a specific class
+     */
+    private static class DispatchTable {
+
+        /**
+         * The listeners to call in order of their registration
+         */
+        private final IEventListener<?>[] listeners;
+        /**
+         * The failure counters and circuit breakers in the order of {@link DispatchTable#listeners}
+         */
+        private final ListenerHealth[] health;
+        /**
+         * The failures in a row after which a listener is disabled or {@code 0} if listeners are never disabled
+         */
+        private final int breakerThreshold;
+        /**
+         * The nanoseconds a disabled listener is skipped
+         */
+        private final long breakerCooldown;
+        /**
+         * The partition key extractor of the class or {@code null} if none is registered
+         */
+        private final Function<Object, Object> partitionKey;
+        /**
+         * The coalescer buffering the events of the class or {@code null} if they are dispatched directly
+         */
+        private final EventCoalescer<?> coalescer;
+        /**
+         * The reducer combining the results of the listeners called in parallel or {@code null} if they are called one after another
+         */
+        private final BinaryOperator<Object> reducer;
+        /**
+         * The journal to append the events of the class to or {@code null} if they aren't journaled
+         */
+        private final EventJournal journal;
+        /**
+         * The metrics to record to or {@code null} if metrics are disabled
+         */
+        private final EventMetrics metrics;
+        /**
+         * The counter of triggered events of the class or {@code null} if metrics are disabled
+         */
+        private final LongAdder triggerCount;
+        /**
+         * The histograms of the listeners in the order of {@link DispatchTable#listeners} or {@code null} if metrics are disabled
+         */
+        private final LogHistogram[] latencies;
+
+        /**
+         * Creates a new dispatch table
+         *
+         * @param listeners The listeners to call in order of their registration
+         * @param health The failure counters and circuit breakers in the order of the listeners
+         * @param breakerThreshold The failures in a row after which a listener is disabled or {@code 0} if listeners are never disabled
+         * @param breakerCooldown The nanoseconds a disabled listener is skipped
+         * @param partitionKey The partition key extractor of the class or {@code null} if none is registered
+         * @param coalescer The coalescer buffering the events of the class or {@code null} if they are dispatched directly
+         * @param reducer The reducer combining the results of the listeners called in parallel or {@code null} if they are called one after another
+         * @param journal The journal to append the events of the class to or {@code null} if they aren't journaled
+         * @param metrics The metrics to record to or {@code null} if metrics are disabled
+         * @param eventClass The concrete events class of the table
+         */
+        DispatchTable(IEventListener<?>[] listeners, ListenerHealth[] health, int breakerThreshold, long breakerCooldown, Function<Object, Object> partitionKey, EventCoalescer<?> coalescer,
+                      BinaryOperator<Object> reducer, EventJournal journal, EventMetrics metrics, Class<?> eventClass) {
+            this.listeners = listeners;
+            this.health = health;
+            this.breakerThreshold = breakerThreshold;
+            this.breakerCooldown = breakerCooldown;
+            this.partitionKey = partitionKey;
+            this.coalescer = coalescer;
+            this.reducer = reducer;
+            this.journal = journal;
+            this.metrics = metrics;
+            if(metrics == null) {
+                this.triggerCount = null;
+                this.latencies = null;
+            } else {
+                this.triggerCount = metrics.getTriggerCounter(eventClass);
+                this.latencies = new LogHistogram[listeners.length];
+                for(int i = 0; i < listeners.length; i++)
+                    this.latencies[i] = metrics.getListenerHistogram(listeners[i]);
+            }
+        }
+    }
+
+    /**
+     * A listener calling an event listening method. Only used to give the listener the name of its method.
+     *
+     * @param <T> The events class
+     */
+    private static class MethodListener<T extends Event<?>> implements IEventListener<T> {
+
+        /**
+         * The name of the method in the form {@code Class#method}
+         */
+        private final String name;
+        /**
+         * The listener calling the method
+         */
+        private final IEventListener<T> delegate;
+
+        /**
+         * Creates a new method listener
+         *
+         * @param name The name of the method in the form {@code Class#method}
+         * @param delegate The listener calling the method
+         */
+        MethodListener(String name, IEventListener<T> delegate) {
+            this.name = name;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void listen(T event) {
+            this.delegate.listen(event);
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+    }
+
+    /**
+     * A listener calling an event listening method on an owner it only holds a weak reference to
+     *
+     * @param <T> The events class
+     */
+    private static class WeakListener<T extends Event<?>> implements IEventListener<T> {
+
+        /**
+         * The name of the method in the form {@code Class#method}
+         */
+        private final String name;
+        /**
+         * The owner to call the method on
+         */
+        private final WeakReference<Object> owner;
+        /**
+         * Calls the method with the owner and the event
+         */
+        private final BiConsumer<Object, Object> invoker;
+        /**
+         * The subscription to remove once the owner is garbage collected
+         */
+        private final Subscription registration;
+
+        /**
+         * Creates a new weak listener
+         *
+         * @param name The name of the method in the form {@code Class#method}
+         * @param owner The owner to call the method on
+         * @param invoker Calls the method with the owner and the event
+         * @param registration The subscription to remove once the owner is garbage collected
+         */
+        WeakListener(String name, Object owner, BiConsumer<Object, Object> invoker, Subscription registration) {
+            this.name = name;
+            this.owner = new WeakReference<>(owner);
+            this.invoker = invoker;
+            this.registration = registration;
+        }
+
+        @Override
+        public void listen(T event) {
+            Object owner = this.owner.get();
+            if(owner == null) {
+                this.registration.unsubscribe();
+                return;
+            }
+            this.invoker.accept(owner, event);
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+    }
+
+    /**
+     * Collects the listeners added by a generated {@link EventListenerRegistrar}. They are wrapped like the listeners found via reflection.
+     */
+    private static class ListenerCollector implements EventListenerRegistrar.Listeners {
+
+        /**
+         * The collected listeners by their events class
+         */
+        private final Map<Class<? extends Event>, List<IEventListener<?>>> found;
+
+        /**
+         * Creates a new collector
+         *
+         * @param found The map to collect the listeners in
+         */
+        ListenerCollector(Map<Class<? extends Event>, List<IEventListener<?>>> found) {
+            this.found = found;
+        }
+
+        @Override
+        public <eventClass extends Event> void add(Class<eventClass> eventClassO, String method, IEventListener<eventClass> listener) {
+            if(listener == null) {
+                ListenerErrorLog.INSTANCE.log(() -> "Method " + method.substring(method.indexOf('#') + 1) + " can't be executed by the EventManager. Please ensure the Method to be public and static!", null);
+                return;
+            }
+            // The generated listener is called directly, as the listeners bound via the LambdaMetafactory are
+            this.found.computeIfAbsent(eventClassO, k -> new ArrayList<>()).add(new MethodListener(method, listener));
+        }
+    }
+
+    /**
+     * The event listener holder is used to hold the list of {@link IEventListener}s for the Specific events class
+     * @param <T> The class of the Event, for which the holder holds listeners
+     */
+    private static class EventListenerHolder<T extends Event<?>> {
+
+        /**
+         * The event Class that the holder holds listener for
+         */
+        private final Class<T> eventsClass;
+        /**
+         * The position of this holder in the order of creation
+         */
+        private final int order;
+        /**
+         * The listeners the holder holds
+         */
+        private final List<IEventListener<T>> listeners;
+
+        /**
+         * Creates a new EventListenerHolder for the given class, with no listeners
+         *
+         * @param eventsClass The class to create the holder for
+         * @param order The position of this holder in the order of creation
+         */
+        EventListenerHolder(Class<T> eventsClass, int order) {
+            this.eventsClass = eventsClass;
+            this.order = order;
+            this.listeners = new CopyOnWriteArrayList<>();
+        }
+
+        /**
+         * If this EventListener instance is listening to events of the given class.
+         *
+         * @param eventClass The concrete class of the event to check listening for
+         * @return If the event class is the EventListenerHolders event class or a subclass of it
+         */
+        public boolean isListeningTo(Class<?> eventClass) {
+            return this.eventsClass.isAssignableFrom(eventClass);
+        }
+
+        /**
          * Adds a Listener to this holder
          *
          * @param eventListener The listener to add
@@ -276,6 +2105,15 @@ public class EventManager {
             this.listeners.add(eventListener);
         }
 
+        /**
+         * Adds many Listeners to this holder at once
+         *
+         * @param eventListeners The listeners to add
+         */
+        public void addListeners(Collection<IEventListener<T>> eventListeners) {
+            this.listeners.addAll(eventListeners);
+        }
+
         /**
          * @return A list of all Listeners listen to the {@link EventListenerHolder#eventsClass event} of the listener
          */
@@ -292,6 +2130,21 @@ public class EventManager {
         public void remove(IEventListener<? extends Event<?>> listener) {
             this.listeners.remove(listener);
         }
+
+        /**
+         * Removes one occurrence of every given listener with a single copy of the list. Listeners are compared by their identity.
+         *
+         * @param eventListeners The listeners to remove
+         */
+        public void removeAll(Collection<? extends IEventListener<?>> eventListeners) {
+            Map<Object, int[]> remaining = new IdentityHashMap<>();
+            for(IEventListener<?> listener: eventListeners)
+                remaining.computeIfAbsent(listener, key -> new int[1])[0]++;
+            this.listeners.removeIf(listener -> {
+                int[] count = remaining.get(listener);
+                return count != null && count[0]-- > 0;
+            });
+        }
     }
 
 }
@@ -0,0 +1,103 @@
+/*
+ Event Manager
+ ListenerErrorLog.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event;
+
+import de.noisruker.event.events.Event;
+import de.noisruker.event.events.IEventListener;
+import de.noisruker.event.events.IListenerErrorHandler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * The default {@link IListenerErrorHandler}, logging failures via the {@link System.Logger} of the {@link EventManager}.
+ * <p>
+ * At most one failure per second is logged with its stack trace. The failures in between are only counted and reported with the next logged one,
+ * so a storm of failures doesn't slow down the dispatching threads with writing stack traces.
+ * <p>
+ * Handlers only implementing {@link IListenerErrorHandler#handle(Event, IEventListener, Throwable)} pass the other failures to this log as well.
+ */
+public final class ListenerErrorLog implements IListenerErrorHandler {
+
+    /**
+     * The only instance of the handler
+     */
+    public static final ListenerErrorLog INSTANCE = new ListenerErrorLog();
+
+    /**
+     * The minimum time between two logged failures in nanoseconds
+     */
+    private static final long INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * The logger to log to
+     */
+    private final System.Logger logger;
+    /**
+     * The {@link System#nanoTime()} after which the next failure is logged
+     */
+    private final AtomicLong nextLog;
+    /**
+     * The failures not logged since the last logged one
+     */
+    private final LongAdder suppressed;
+
+    /**
+     * Creates the handler
+     */
+    private ListenerErrorLog() {
+        this.logger = System.getLogger(EventManager.class.getName());
+        this.nextLog = new AtomicLong(System.nanoTime());
+        this.suppressed = new LongAdder();
+    }
+
+    @Override
+    public void handle(Event<?> event, IEventListener<?> listener, Throwable error) {
+        this.log(() -> "Listener " + listener + " failed on event " + event.getEventName(), error);
+    }
+
+    @Override
+    public void disabled(IEventListener<?> listener, int failures) {
+        this.logger.log(System.Logger.Level.WARNING, () -> "Listener " + listener + " is disabled after " + failures + " failures in a row");
+    }
+
+    @Override
+    public void deliveryFailed(Object source, Throwable error) {
+        this.log(() -> "Delivering events via " + source + " failed", error);
+    }
+
+    /**
+     * Logs the failure, if the last logged failure is at least one {@link ListenerErrorLog#INTERVAL} ago, otherwise counts it
+     *
+     * @param message The message describing the failure
+     * @param error The exception of the failure or {@code null} if there is none
+     */
+    void log(Supplier<String> message, Throwable error) {
+        long now = System.nanoTime(), next = this.nextLog.get();
+        if(now - next < 0 || !this.nextLog.compareAndSet(next, now + INTERVAL)) {
+            this.suppressed.increment();
+            return;
+        }
+        long suppressed = this.suppressed.sumThenReset();
+        this.logger.log(System.Logger.Level.WARNING, () -> suppressed == 0 ? message.get() : message.get() + " (" + suppressed + " failures since the last report were not logged)", error);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ Event Manager
+ ListenerHealth.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the failures of a listener and acts as its circuit breaker.
+ * <p>
+ * After too many failures in a row the breaker opens and the listener is skipped until the cooldown passed.
+ * Then a single dispatch probes the listener again, closing the breaker on success and opening it for another cooldown on failure.
+ * Healthy listeners only cost two volatile reads and no writes per call.
+ */
+class ListenerHealth {
+
+    /**
+     * The value of {@link ListenerHealth#openUntil} while the breaker is closed
+     */
+    private static final long CLOSED = Long.MIN_VALUE;
+
+    /**
+     * The number of all failures
+     */
+    private final LongAdder failures;
+    /**
+     * The number of failures since the last successful call
+     */
+    private final AtomicInteger consecutive;
+    /**
+     * The {@link System#nanoTime()} until the listener is skipped or {@link ListenerHealth#CLOSED}
+     */
+    private final AtomicLong openUntil;
+
+    /**
+     * Creates the health of a listener without failures
+     */
+    ListenerHealth() {
+        this.failures = new LongAdder();
+        this.consecutive = new AtomicInteger();
+        this.openUntil = new AtomicLong(CLOSED);
+    }
+
+    /**
+     * Checks if the listener may be called. After the cooldown only the first caller is allowed to probe the listener.
+     *
+     * @param cooldown The nanoseconds to skip the listener again, if the probe fails
+     * @return If the listener should be called
+     */
+    boolean allows(long cooldown) {
+        long until = this.openUntil.get();
+        if(until == CLOSED)
+            return true;
+        long now = System.nanoTime();
+        return now - until >= 0 && this.openUntil.compareAndSet(until, now + cooldown);
+    }
+
+    /**
+     * Records a successful call, closing the breaker
+     */
+    void succeeded() {
+        if(this.consecutive.get() != 0) {
+            this.consecutive.set(0);
+            this.openUntil.set(CLOSED);
+        }
+    }
+
+    /**
+     * Records a failed call
+     *
+     * @param threshold The failures in a row to open the breaker at or {@code 0} if the breaker is disabled
+     * @param cooldown The nanoseconds to skip the listener for, once the breaker opens
+     * @return If this failure opened the breaker
+     */
+    boolean failed(int threshold, long cooldown) {
+        this.failures.increment();
+        int consecutive = this.consecutive.incrementAndGet();
+        if(threshold <= 0 || consecutive < threshold)
+            return false;
+        this.openUntil.set(System.nanoTime() + cooldown);
+        return consecutive == threshold;
+    }
+
+    /**
+     * @return The number of all failures
+     */
+    long getFailures() {
+        return this.failures.sum();
+    }
+
+    /**
+     * @return If the listener is currently skipped
+     */
+    boolean isOpen() {
+        long until = this.openUntil.get();
+        return until != CLOSED && System.nanoTime() - until < 0;
+    }
+}
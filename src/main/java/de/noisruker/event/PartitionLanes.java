@@ -0,0 +1,204 @@
+/*
+ Event Manager
+ PartitionLanes.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event;
+
+import de.noisruker.threading.DiscardableTask;
+import de.noisruker.threading.ThreadManager;
+import de.noisruker.threading.UndiscardableTask;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * A fixed number of lanes running async tasks. Every partition key is mapped to one lane and every lane runs its tasks one after another in order of their submission.
+ * So tasks with the same key never run concurrently, while tasks of different lanes run in parallel on the {@link ThreadManager}.
+ * Exceptions escaping a task are passed to the {@link de.noisruker.event.events.IListenerErrorHandler} of the {@link EventManager}.
+ * If the {@link ThreadManager} rejects a lane, the tasks waiting in it are rejected as well instead of running on the calling thread.
+ */
+class PartitionLanes {
+
+    /**
+     * The maximum number of tasks a lane runs before it hands its thread back to the {@link ThreadManager}
+     */
+    private static final int BATCH_SIZE = 256;
+
+    /**
+     * The lanes
+     */
+    private final Lane[] lanes;
+
+    /**
+     * Creates the given number of lanes.
+     *
+     * @param count The number of lanes
+     * @param manager The event manager to report exceptions escaping a task to
+     */
+    PartitionLanes(int count, EventManager manager) {
+        if(count <= 0)
+            throw new IllegalArgumentException("The number of lanes must be positive, but was " + count);
+        Consumer<RuntimeException> failed = e -> manager.deliveryFailed(this, e);
+        this.lanes = new Lane[count];
+        for(int i = 0; i < count; i++)
+            this.lanes[i] = new Lane(failed);
+    }
+
+    /**
+     * @return The number of lanes
+     */
+    int size() {
+        return this.lanes.length;
+    }
+
+    /**
+     * Runs the task on the lane of the given key after all tasks submitted to this lane before.
+     *
+     * @param key The partition key
+     * @param task The task to run
+     * @throws RejectedExecutionException If the {@link ThreadManager} rejects the lane. All other tasks waiting in the lane are rejected as well.
+     */
+    void execute(Object key, EventManager.AsyncTask task) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        this.lanes[Math.floorMod(hash, this.lanes.length)].execute(task);
+    }
+
+    @Override
+    public String toString() {
+        return "PartitionLanes[" + this.lanes.length + "]";
+    }
+
+    /**
+     * A lane running its tasks one after another. The lane is scheduled on the {@link ThreadManager} while it has tasks to run.
+     * It is never dropped from the queue of the {@link ThreadManager}, as the lane would stay scheduled without running.
+     * It is only discarded, if the {@link ThreadManager} is shut down, which rejects its waiting tasks.
+     */
+    private static class Lane implements UndiscardableTask, DiscardableTask {
+
+        /**
+         * The tasks waiting to run
+         */
+        private final Queue<EventManager.AsyncTask> tasks = new ConcurrentLinkedQueue<>();
+        /**
+         * If this lane is scheduled or running
+         */
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+        /**
+         * Reports exceptions escaping a task
+         */
+        private final Consumer<RuntimeException> failed;
+
+        /**
+         * Creates an idle lane.
+         *
+         * @param failed Reports exceptions escaping a task
+         */
+        Lane(Consumer<RuntimeException> failed) {
+            this.failed = failed;
+        }
+
+        /**
+         * Adds a task to this lane and schedules the lane, if it is idle.
+         *
+         * @param task The task to run
+         * @throws RejectedExecutionException If the {@link ThreadManager} rejects the lane. All other tasks waiting in the lane are rejected as well.
+         */
+        void execute(EventManager.AsyncTask task) {
+            this.tasks.add(task);
+            if(!this.scheduled.compareAndSet(false, true))
+                return;
+            try {
+                ThreadManager.getInstance().executeAsync(this);
+            } catch (RejectedExecutionException e) {
+                this.scheduled.set(false);
+                boolean own = this.tasks.remove(task);
+                this.reject(e);
+                if(own)
+                    throw e;
+            }
+        }
+
+        @Override
+        public void discarded() {
+            this.scheduled.set(false);
+            this.reject(new RejectedExecutionException("The lane was rejected by the shut down ThreadManager"));
+        }
+
+        /**
+         * Rejects all tasks waiting in this lane.
+         *
+         * @param e The rejection to complete the tasks with
+         */
+        private void reject(RejectedExecutionException e) {
+            EventManager.AsyncTask task;
+            while ((task = this.tasks.poll()) != null) {
+                try {
+                    task.rejected(e);
+                } catch (RuntimeException ex) {
+                    this.failed(ex);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Runnable task;
+                int ran = 0;
+                while (ran++ < BATCH_SIZE && (task = this.tasks.poll()) != null) {
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        this.failed(e);
+                    }
+                }
+                this.scheduled.set(false);
+
+                // Hand the thread back, if there are tasks left, or keep running them on this pool thread if the ThreadManager rejects the lane
+                if(this.tasks.isEmpty() || !this.scheduled.compareAndSet(false, true))
+                    return;
+                try {
+                    ThreadManager.getInstance().executeAsync(this);
+                    return;
+                } catch (RejectedExecutionException ignored) {
+                }
+            }
+        }
+
+        /**
+         * Reports an exception escaping a task. If reporting throws as well, the exception goes to the uncaught exception handler of the thread, so the lane keeps running.
+         *
+         * @param e The exception of the task
+         */
+        private void failed(RuntimeException e) {
+            try {
+                this.failed.accept(e);
+            } catch (RuntimeException handlerFailure) {
+                if(handlerFailure != e)
+                    handlerFailure.addSuppressed(e);
+                Thread current = Thread.currentThread();
+                current.getUncaughtExceptionHandler().uncaughtException(current, handlerFailure);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,288 @@
+/*
+ Event Manager
+ RingBufferEventBus.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event;
+
+import de.noisruker.event.events.Event;
+import de.noisruker.event.events.IEventListener;
+import de.noisruker.event.events.IListenerErrorHandler;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * An event bus for events published at a high rate. The events are stored in a ring buffer of preallocated slots and handed to a listener on a single consumer thread.
+ * <p>
+ * Any number of threads may {@link RingBufferEventBus#publish(Event) publish} events. A publisher claims a slot without locking and only waits, if the buffer is full.
+ * The consumer handles all events available at once in order of their claimed slots, before it waits for new ones.
+ *
+ * <p>
+ * To handle the events via the listeners of an {@link EventManager} use {@link RingBufferEventBus#RingBufferEventBus(EventManager, int, WaitStrategy)}.
+ * Exceptions thrown while handling an event are passed to the {@link IListenerErrorHandler} of the manager or the one {@link RingBufferEventBus#setListenerErrorHandler(IListenerErrorHandler) set}
+ * for the listener of this bus, so the consumer thread keeps running.
+ *
+ * @param <T> The class of the events published to this bus
+ */
+public class RingBufferEventBus<T extends Event<?>> {
+
+    /**
+     * The slots of the ring buffer
+     */
+    private final Object[] slots;
+    /**
+     * The sequence last published to each slot. A slot is readable if it holds the sequence the consumer waits for.
+     */
+    private final AtomicLongArray published;
+    /**
+     * The mask to map a sequence to its slot
+     */
+    private final int mask;
+    /**
+     * The next sequence to claim by a publisher
+     */
+    private final AtomicLong claimed;
+    /**
+     * The last sequence handled by the consumer
+     */
+    private final AtomicLong consumed;
+    /**
+     * How publishers and the consumer wait
+     */
+    private final WaitStrategy waitStrategy;
+    /**
+     * The listener handling the events
+     */
+    private final IEventListener<T> listener;
+    /**
+     * The event manager triggering the events or {@code null} if they are handed to a listener
+     */
+    private final EventManager manager;
+    /**
+     * Handles the exceptions thrown by the listener
+     */
+    private volatile IListenerErrorHandler errorHandler;
+    /**
+     * The consumer thread or {@code null} if the bus is not running
+     */
+    private Thread consumer;
+    /**
+     * If the consumer should stop after handling all published events
+     */
+    private volatile boolean stopping;
+
+    /**
+     * Creates a new bus triggering its events on the given {@link EventManager}.
+     *
+     * @param manager The event manager to trigger the events on
+     * @param capacity The number of slots. Is rounded up to the next power of two.
+     * @param waitStrategy How publishers and the consumer wait
+     */
+    public RingBufferEventBus(EventManager manager, int capacity, WaitStrategy waitStrategy) {
+        this(capacity, waitStrategy, event -> manager.triggerEvent((Event) event), manager);
+    }
+
+    /**
+     * Creates a new bus handing its events to the given listener.
+     *
+     * @param capacity The number of slots. Is rounded up to the next power of two.
+     * @param waitStrategy How publishers and the consumer wait
+     * @param listener The listener handling the events on the consumer thread
+     */
+    public RingBufferEventBus(int capacity, WaitStrategy waitStrategy, IEventListener<T> listener) {
+        this(capacity, waitStrategy, listener, null);
+    }
+
+    /**
+     * Creates a new bus.
+     *
+     * @param capacity The number of slots. Is rounded up to the next power of two.
+     * @param waitStrategy How publishers and the consumer wait
+     * @param listener The listener handling the events on the consumer thread
+     * @param manager The event manager triggering the events or {@code null} if they are handed to a listener
+     */
+    private RingBufferEventBus(int capacity, WaitStrategy waitStrategy, IEventListener<T> listener, EventManager manager) {
+        if(capacity <= 0)
+            throw new IllegalArgumentException("The capacity must be positive, but was " + capacity);
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.slots = new Object[size];
+        this.published = new AtomicLongArray(size);
+        for(int i = 0; i < size; i++)
+            this.published.set(i, -1L);
+        this.mask = size - 1;
+        this.claimed = new AtomicLong(0L);
+        this.consumed = new AtomicLong(-1L);
+        this.waitStrategy = waitStrategy;
+        this.listener = listener;
+        this.manager = manager;
+        this.errorHandler = ListenerErrorLog.INSTANCE;
+    }
+
+    /**
+     * Sets the handler of exceptions thrown by the listener of this bus. By default, they are logged via the {@link System.Logger} of the {@link EventManager}.
+     * A bus triggering its events on an {@link EventManager} passes the exceptions escaping the manager to its {@link EventManager#setListenerErrorHandler(IListenerErrorHandler) handler} instead.
+     *
+     * @param handler The handler or {@code null} to log the exceptions
+     */
+    public void setListenerErrorHandler(IListenerErrorHandler handler) {
+        this.errorHandler = handler == null ? ListenerErrorLog.INSTANCE : handler;
+    }
+
+    /**
+     * Starts the consumer thread.
+     *
+     * @throws IllegalStateException If the bus is already running
+     */
+    public synchronized void start() {
+        if(this.consumer != null)
+            throw new IllegalStateException("Already running!");
+        this.stopping = false;
+        this.consumer = new Thread(this::consume, "RingBufferEventBus-Consumer");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    /**
+     * Stops the consumer thread after it handled all events published so far and waits for it to shut down.
+     *
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public synchronized void stop() throws InterruptedException {
+        if(this.consumer == null)
+            return;
+        this.stopping = true;
+        this.consumer.join();
+        this.consumer = null;
+    }
+
+    /**
+     * Publishes an event to this bus. Waits for a free slot if the buffer is full.
+     *
+     * @param event The event to publish
+     */
+    public void publish(T event) {
+        long sequence = this.claimed.getAndIncrement();
+        while (sequence - this.slots.length > this.consumed.get())
+            this.waitStrategy.await();
+        this.write(sequence, event);
+    }
+
+    /**
+     * Publishes an event to this bus, if the buffer has a free slot.
+     *
+     * @param event The event to publish
+     * @return If the event was published
+     */
+    public boolean tryPublish(T event) {
+        long sequence;
+        do {
+            sequence = this.claimed.get();
+            if(sequence - this.slots.length > this.consumed.get())
+                return false;
+        } while (!this.claimed.compareAndSet(sequence, sequence + 1));
+        this.write(sequence, event);
+        return true;
+    }
+
+    /**
+     * @return The number of events published, but not yet handled
+     */
+    public long size() {
+        return Math.max(0L, this.claimed.get() - this.consumed.get() - 1);
+    }
+
+    /**
+     * @return The number of slots of the ring buffer
+     */
+    public int getCapacity() {
+        return this.slots.length;
+    }
+
+    /**
+     * Writes the event to the slot of the claimed sequence and makes it visible to the consumer.
+     *
+     * @param sequence The claimed sequence
+     * @param event The event to write
+     */
+    private void write(long sequence, T event) {
+        int slot = (int) (sequence & this.mask);
+        this.slots[slot] = event;
+        this.published.lazySet(slot, sequence);
+    }
+
+    /**
+     * The loop of the consumer thread. Handles all available events at once and waits if none is available.
+     */
+    @SuppressWarnings("unchecked")
+    private void consume() {
+        long next = this.consumed.get() + 1;
+        while (true) {
+            if(this.published.get((int) (next & this.mask)) != next) {
+                if(this.stopping && this.claimed.get() == next)
+                    return;
+                this.waitStrategy.await();
+                continue;
+            }
+
+            // Find the end of the available batch
+            long last = next;
+            while (last - next < this.mask && this.published.get((int) ((last + 1) & this.mask)) == last + 1)
+                last++;
+
+            for(long sequence = next; sequence <= last; sequence++) {
+                int slot = (int) (sequence & this.mask);
+                T event = (T) this.slots[slot];
+                this.slots[slot] = null;
+                try {
+                    this.listener.listen(event);
+                } catch (RuntimeException e) {
+                    this.failed(event, e);
+                }
+            }
+            this.consumed.lazySet(last);
+            next = last + 1;
+        }
+    }
+
+    /**
+     * Passes the exception thrown while handling an event to the error handler. If the handler throws as well,
+     * the exception goes to the uncaught exception handler of the consumer thread, so the consumer keeps running.
+     *
+     * @param event The handled event
+     * @param e The thrown exception
+     */
+    private void failed(T event, RuntimeException e) {
+        try {
+            if(this.manager != null)
+                this.manager.deliveryFailed(this, e);
+            else
+                this.errorHandler.handle(event, this.listener, e);
+        } catch (RuntimeException handlerFailure) {
+            if(handlerFailure != e)
+                handlerFailure.addSuppressed(e);
+            Thread current = Thread.currentThread();
+            current.getUncaughtExceptionHandler().uncaughtException(current, handlerFailure);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RingBufferEventBus[" + this.listener + "]";
+    }
+
+}
@@ -0,0 +1,36 @@
+/*
+ Event Manager
+ Subscription.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event;
+
+/**
+ * A handle to listeners registered at an {@link EventManager}. Unsubscribing removes all listeners registered together with one call.
+ */
+public interface Subscription {
+
+    /**
+     * Removes all listeners of this subscription. Calling it more than once has no effect.
+     */
+    void unsubscribe();
+
+    /**
+     * @return If the listeners of this subscription are still registered
+     */
+    boolean isSubscribed();
+}
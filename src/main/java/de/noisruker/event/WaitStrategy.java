@@ -0,0 +1,62 @@
+/*
+ Event Manager
+ WaitStrategy.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Decides how a thread of a {@link RingBufferEventBus} waits for events or free slots.
+ */
+public enum WaitStrategy {
+
+    /**
+     * Spins on the cpu. Has the lowest latency, but keeps one core busy all the time.
+     */
+    BUSY_SPIN {
+        @Override
+        void await() {
+            Thread.onSpinWait();
+        }
+    },
+    /**
+     * Yields the cpu to other threads while waiting. Has a low latency, if there are enough cores.
+     */
+    YIELD {
+        @Override
+        void await() {
+            Thread.yield();
+        }
+    },
+    /**
+     * Parks the thread for a short time. Has a higher latency, but nearly no cpu usage while idle.
+     */
+    PARK {
+        @Override
+        void await() {
+            LockSupport.parkNanos(1000L);
+        }
+    };
+
+    /**
+     * Waits a short time before the waiting thread checks its condition again.
+     */
+    abstract void await();
+
+}
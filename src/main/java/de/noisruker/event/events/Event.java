@@ -19,6 +19,8 @@
 
 package de.noisruker.event.events;
 
+import java.util.function.BinaryOperator;
+
 /**
  * This class represent an event.
  */
@@ -32,6 +34,18 @@ public abstract class Event<T> {
      * The events result
      */
     private T result;
+    /**
+     * If this event is stored in an {@link EventPool} and waits for reuse
+     */
+    volatile boolean pooled;
+    /**
+     * Combines the results set by listeners running in parallel or {@code null} while the listeners run one after another
+     */
+    private volatile BinaryOperator<T> resultReducer;
+    /**
+     * If a listener running in parallel has already set a result
+     */
+    private boolean reducedResult;
 
     /**
      * Creates a new Event with the specified name. To trigger the event use {@link de.noisruker.event.EventManager#triggerEvent(Event)} with this event as parameter.
@@ -58,7 +72,40 @@ public abstract class Event<T> {
      * @param result The result to set for this event
      */
     public void setResult(T result) {
-        this.result = result;
+        BinaryOperator<T> reducer = this.resultReducer;
+        if(reducer == null) {
+            this.result = result;
+            return;
+        }
+        synchronized (this) {
+            this.result = this.reducedResult ? reducer.apply(this.result, result) : result;
+            this.reducedResult = true;
+        }
+    }
+
+    /**
+     * Starts combining the results set by listeners running in parallel. Instead of replacing the result, every result after the first one set is combined with the current result by the reducer.
+     * If no listener sets a result, the result stays unchanged.
+     * <p>
+     * This is called by the {@link de.noisruker.event.EventManager} before it calls the listeners of an event in parallel.
+     *
+     * @param reducer The thread safe function combining the current result with a newly set one
+     */
+    public void beginParallelDispatch(BinaryOperator<T> reducer) {
+        synchronized (this) {
+            this.reducedResult = false;
+            this.resultReducer = reducer;
+        }
+    }
+
+    /**
+     * Stops combining the results set by listeners. This is called by the {@link de.noisruker.event.EventManager} after all listeners called in parallel returned.
+     */
+    public void endParallelDispatch() {
+        synchronized (this) {
+            this.resultReducer = null;
+            this.reducedResult = false;
+        }
     }
 
     /**
@@ -67,4 +114,14 @@ public abstract class Event<T> {
     public T getResult() {
         return this.result;
     }
+
+    /**
+     * Resets this event to the state after its creation, so it can be reused. This is called by the {@link EventPool} when the event is released.
+     * <p>
+     * Events holding further state must override this method, clear or reset their state and call {@code super.reset()}.
+     */
+    protected void reset() {
+        this.result = null;
+        this.endParallelDispatch();
+    }
 }
@@ -0,0 +1,112 @@
+/*
+ Event Manager
+ EventPool.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event.events;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * A pool of reusable events of one class. Producers triggering many events can {@link EventPool#acquire() acquire} an event, fill it, trigger it and {@link EventPool#release(Event) release} it afterwards instead of creating a new event every time.
+ * <p>
+ * Releasing an event {@link Event#reset() resets} it. So an event must only be released after its trigger is done and its result was read. Events triggered async must not be released before the async trigger completed.
+ * <p>
+ * Acquiring and releasing doesn't lock and doesn't allocate, as long as the pool is neither empty nor full.
+ *
+ * @param <T> The class of the pooled events
+ */
+public class EventPool<T extends Event<?>> {
+
+    /**
+     * The slots holding the events waiting for reuse
+     */
+    private final AtomicReferenceArray<T> slots;
+    /**
+     * The mask to map an index to a slot
+     */
+    private final int mask;
+    /**
+     * Creates new events if the pool is empty
+     */
+    private final Supplier<? extends T> factory;
+
+    /**
+     * Creates a new empty pool.
+     *
+     * @param capacity The maximum number of events waiting for reuse. Is rounded up to the next power of two.
+     * @param factory Creates new events if the pool is empty
+     */
+    public EventPool(int capacity, Supplier<? extends T> factory) {
+        if(capacity <= 0)
+            throw new IllegalArgumentException("The capacity must be positive, but was " + capacity);
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.factory = factory;
+    }
+
+    /**
+     * Returns an event waiting for reuse or a new event if the pool is empty.
+     *
+     * @return An event in the state after its creation
+     */
+    public T acquire() {
+        int start = this.start();
+        for(int i = 0; i <= this.mask; i++) {
+            int slot = (start + i) & this.mask;
+            T event = this.slots.get(slot);
+            if(event != null && this.slots.compareAndSet(slot, event, null)) {
+                event.pooled = false;
+                return event;
+            }
+        }
+        return this.factory.get();
+    }
+
+    /**
+     * Resets the event and stores it for reuse. If the pool is full the event is dropped.
+     *
+     * @param event The event to release. It must not be used after releasing it.
+     * @throws IllegalStateException If the event was already released
+     */
+    public void release(T event) {
+        if(event == null)
+            return;
+        if(event.pooled)
+            throw new IllegalStateException("The event was already released");
+        event.reset();
+        event.pooled = true;
+
+        int start = this.start();
+        for(int i = 0; i <= this.mask; i++) {
+            int slot = (start + i) & this.mask;
+            if(this.slots.get(slot) == null && this.slots.compareAndSet(slot, null, event))
+                return;
+        }
+        event.pooled = false;
+    }
+
+    /**
+     * @return The slot to start searching at. Differs by thread to reduce contention.
+     */
+    private int start() {
+        return (int) (Thread.currentThread().getId() * 0x9E3779B9L) & this.mask;
+    }
+
+}
@@ -0,0 +1,41 @@
+/*
+ Event Manager
+ IBatchEventListener.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event.events;
+
+import java.util.List;
+
+/**
+ * An event listener receiving the triggered events {@link T} in batches instead of one by one.
+ * <p>
+ * To register your IBatchEventListener use {@link de.noisruker.event.EventManager#registerBatchListener(Class, IBatchEventListener, int, long, java.util.concurrent.TimeUnit)}.
+ * The batch is delivered after the event was triggered, so results set by this listener are not returned by {@link de.noisruker.event.EventManager#triggerEvent(Event)}.
+ *
+ * @param <T> The class this listener is listening for
+ */
+public interface IBatchEventListener<T extends Event> {
+
+    /**
+     * This is the called method when enough events were triggered or the oldest of them waited long enough
+     *
+     * @param events The triggered events in order of their triggering
+     */
+    void listen(List<T> events);
+
+}
@@ -0,0 +1,60 @@
+/*
+ Event Manager
+ IListenerErrorHandler.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event.events;
+
+/**
+ * Handles the exceptions thrown by event listeners. Set it via {@link de.noisruker.event.EventManager#setListenerErrorHandler(IListenerErrorHandler)}.
+ * <p>
+ * A failing listener doesn't stop the dispatch, the remaining listeners are called after the handler returned.
+ * If the handler itself throws, the exception is passed to the caller of {@link de.noisruker.event.EventManager#triggerEvent(Event)}.
+ */
+public interface IListenerErrorHandler {
+
+    /**
+     * Handles the exception of a listener
+     *
+     * @param event The event the listener was called with
+     * @param listener The failed listener
+     * @param error The thrown exception
+     */
+    void handle(Event<?> event, IEventListener<?> listener, Throwable error);
+
+    /**
+     * Called when the circuit breaker disables a listener after too many failures in a row
+     *
+     * @param listener The disabled listener
+     * @param failures The number of failures in a row
+     */
+    default void disabled(IEventListener<?> listener, int failures) {
+    }
+
+    /**
+     * Handles an exception raised while delivering events outside of a single listener call, like a failed journal write or
+     * an exception of this handler escaping an async lane or a ring buffer.
+     * By default, the exception is passed to the rate limited {@link de.noisruker.event.ListenerErrorLog}.
+     *
+     * @param source The component that failed to deliver the events
+     * @param error The thrown exception
+     */
+    default void deliveryFailed(Object source, Throwable error) {
+        de.noisruker.event.ListenerErrorLog.INSTANCE.deliveryFailed(source, error);
+    }
+
+}
@@ -0,0 +1,35 @@
+/*
+ Event Manager
+ IPartitionedEvent.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event.events;
+
+/**
+ * An event holding a partition key. Events with the same partition key, that are triggered async, are handled one after another in order of their triggering.
+ * Events with different keys may be handled in parallel.
+ * <p>
+ * Instead of implementing this interface a key extractor can be registered via {@link de.noisruker.event.EventManager#registerPartitionKey(Class, java.util.function.Function)}.
+ */
+public interface IPartitionedEvent {
+
+    /**
+     * @return The key of the partition this event belongs to, like the entity the event is about. {@code null} if the event has no partition.
+     */
+    Object getPartitionKey();
+
+}
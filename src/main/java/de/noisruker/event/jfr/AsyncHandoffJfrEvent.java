@@ -0,0 +1,50 @@
+/*
+ Event Manager
+ AsyncHandoffJfrEvent.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Recorded for every async event, lasting from its submission until a thread starts to trigger it.
+ * <p>
+ * Only handoffs waiting at least the threshold are recorded, {@code 1 ms} by default. The threshold can be changed via the {@code de.noisruker.AsyncHandoff#threshold} setting of a recording.
+ */
+@Name("de.noisruker.AsyncHandoff")
+@Label("Async Handoff")
+@Category({"Event Manager"})
+@Threshold("1 ms")
+public class AsyncHandoffJfrEvent extends Event {
+
+    /**
+     * The class of the submitted event or {@code null} if many events were submitted together
+     */
+    @Label("Event Class")
+    public Class<?> eventClass;
+
+    /**
+     * The partition key of the event or {@code null} if the event has no partition
+     */
+    @Label("Partition Key")
+    public String partitionKey;
+}
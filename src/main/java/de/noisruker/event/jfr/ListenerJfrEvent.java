@@ -0,0 +1,50 @@
+/*
+ Event Manager
+ ListenerJfrEvent.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Recorded for every call of a listener.
+ * <p>
+ * Only calls taking at least the threshold are recorded, {@code 1 ms} by default, so slow listeners can be found without recording every call. The threshold can be changed via the {@code de.noisruker.ListenerInvocation#threshold} setting of a recording.
+ */
+@Name("de.noisruker.ListenerInvocation")
+@Label("Listener Invocation")
+@Category({"Event Manager"})
+@Threshold("1 ms")
+public class ListenerJfrEvent extends Event {
+
+    /**
+     * The class of the triggered event
+     */
+    @Label("Event Class")
+    public Class<?> eventClass;
+
+    /**
+     * The name of the called listener
+     */
+    @Label("Listener")
+    public String listener;
+}
@@ -0,0 +1,54 @@
+/*
+ Event Manager
+ TickInterruptedJfrEvent.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded when a tick of the {@link de.noisruker.threading.ThreadManager} throws an exception.
+ * <p>
+ * The event is recorded before the {@link de.noisruker.threading.events.TickInterruptedEvent} is triggered.
+ */
+@Name("de.noisruker.TickInterrupted")
+@Label("Tick Interrupted")
+@Category({"Event Manager"})
+public class TickInterruptedJfrEvent extends Event {
+
+    /**
+     * The number of the interrupted tick
+     */
+    @Label("Tick")
+    public long tick;
+
+    /**
+     * The class of the thrown exception
+     */
+    @Label("Exception Class")
+    public Class<?> exceptionClass;
+
+    /**
+     * The message of the thrown exception
+     */
+    @Label("Message")
+    public String message;
+}
@@ -0,0 +1,50 @@
+/*
+ Event Manager
+ TickJfrEvent.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Recorded for every tick of the {@link de.noisruker.threading.ThreadManager}.
+ * <p>
+ * Every tick is recorded by default. A threshold can be set via the {@code de.noisruker.Tick#threshold} setting of a recording.
+ */
+@Name("de.noisruker.Tick")
+@Label("Tick")
+@Category({"Event Manager"})
+public class TickJfrEvent extends Event {
+
+    /**
+     * The number of the tick
+     */
+    @Label("Tick")
+    public long tick;
+
+    /**
+     * How much later than scheduled the tick started
+     */
+    @Label("Lateness")
+    @Timespan
+    public long lateness;
+}
@@ -0,0 +1,632 @@
+/*
+ Event Manager
+ EventJournal.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event.journal;
+
+import de.noisruker.event.ListenerErrorLog;
+import de.noisruker.event.events.Event;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * An append only log of triggered events, stored in memory mapped segment files of a directory.
+ * <p>
+ * Only events of classes with a {@link EventJournal#register(int, Class, EventSerializer) registered serializer} are written. Appending only copies the event into the mapped segment,
+ * the segments are forced to the disk by a background thread in a fixed interval (group commit). So an event is durable once {@link EventJournal#getCommittedSequence()} reached its sequence.
+ * <p>
+ * Every record consists of its length, a checksum, the type id of its serializer, its sequence, the time it was appended and the data written by the serializer.
+ * The checksum covers the whole record except itself, so torn headers are detected as well as torn data.
+ * On opening, the records of existing segments are read until the first incomplete one, so records torn by a crash are dropped and overwritten.
+ */
+public class EventJournal implements AutoCloseable {
+
+    /**
+     * The default size of a segment file
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+    /**
+     * The size of the header of every record
+     */
+    private static final int HEADER = 28;
+    /**
+     * The file extension of the segments
+     */
+    private static final String EXTENSION = ".journal";
+
+    /**
+     * The directory holding the segments
+     */
+    private final Path directory;
+    /**
+     * The size of new segment files
+     */
+    private final int segmentSize;
+    /**
+     * The serializers by the events class they are registered for
+     */
+    private final Map<Class<?>, Type<?>> byClass;
+    /**
+     * The serializers by their type id
+     */
+    private final Map<Integer, Type<?>> byId;
+    /**
+     * The buffer the serializers write to before the record is copied into the segment
+     */
+    private final RecordBuffer record;
+    /**
+     * The output writing to {@link EventJournal#record}
+     */
+    private final DataOutputStream out;
+    /**
+     * Calculates the checksums of the records
+     */
+    private final CRC32 checksum;
+    /**
+     * All segments in order of their sequences
+     */
+    private final List<Segment> segments;
+    /**
+     * The segment new records are appended to or {@code null} if a new segment has to be created
+     */
+    private Segment active;
+    /**
+     * The sequence of the next record
+     */
+    private long nextSequence;
+    /**
+     * The sequence of the last record forced to the disk
+     */
+    private volatile long committedSequence;
+    /**
+     * Forces the segments to the disk in a fixed interval
+     */
+    private final ScheduledExecutorService committer;
+    /**
+     * Guards forcing the segments
+     */
+    private final Object commitLock;
+    /**
+     * If the journal was closed
+     */
+    private boolean closed;
+    /**
+     * Handles the failures of the periodic commits or {@code null} if they are logged via the {@link ListenerErrorLog}
+     */
+    private volatile Consumer<? super IOException> failureHandler;
+
+    /**
+     * Opens the journal in the given directory with the default segment size, committing every {@code 10 ms}.
+     *
+     * @param directory The directory holding the segments. It is created if it doesn't exist.
+     * @throws IOException If the existing segments can't be read
+     */
+    public EventJournal(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE, 10, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens the journal in the given directory.
+     *
+     * @param directory The directory holding the segments. It is created if it doesn't exist.
+     * @param segmentSize The size of new segment files
+     * @param commitInterval The time between two forces of the segments to the disk
+     * @param unit The unit of the commit interval
+     * @throws IOException If the existing segments can't be read
+     * @throws IllegalArgumentException If the segment size or the commit interval is not positive
+     */
+    public EventJournal(Path directory, int segmentSize, long commitInterval, TimeUnit unit) throws IOException {
+        if(segmentSize <= HEADER)
+            throw new IllegalArgumentException("The segment size must be greater than " + HEADER + ", but was " + segmentSize);
+        if(commitInterval <= 0)
+            throw new IllegalArgumentException("The commit interval must be positive, but was " + commitInterval);
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        this.byClass = new ConcurrentHashMap<>();
+        this.byId = new ConcurrentHashMap<>();
+        this.record = new RecordBuffer();
+        this.out = new DataOutputStream(this.record);
+        this.checksum = new CRC32();
+        this.segments = new ArrayList<>();
+        this.nextSequence = 1L;
+        this.commitLock = new Object();
+        this.recover();
+        this.committedSequence = this.nextSequence - 1;
+
+        this.committer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "EventJournal committer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.committer.scheduleWithFixedDelay(() -> {
+            try {
+                this.commit();
+            } catch (IOException e) {
+                this.commitFailed(e);
+            }
+        }, commitInterval, commitInterval, unit);
+    }
+
+    /**
+     * Passes the failure of a periodic commit to the failure handler. The commits continue, even if the handler throws.
+     *
+     * @param e The failure of the commit
+     */
+    private void commitFailed(IOException e) {
+        Consumer<? super IOException> handler = this.failureHandler;
+        try {
+            if(handler != null) {
+                handler.accept(e);
+                return;
+            }
+        } catch (RuntimeException handlerFailure) {
+            e.addSuppressed(handlerFailure);
+        }
+        ListenerErrorLog.INSTANCE.deliveryFailed(this, e);
+    }
+
+    /**
+     * Sets the handler of failed periodic commits. The {@link de.noisruker.event.EventManager#setJournal(EventJournal) event manager} passes them to its
+     * {@link de.noisruker.event.events.IListenerErrorHandler}.
+     *
+     * @param failureHandler The handler or {@code null} to log the failures via the {@link ListenerErrorLog}
+     */
+    public void setFailureHandler(Consumer<? super IOException> failureHandler) {
+        this.failureHandler = failureHandler;
+    }
+
+    @Override
+    public String toString() {
+        return "EventJournal[" + this.directory + "]";
+    }
+
+    /**
+     * Registers the serializer for the events of a class. Only events of exactly this class are written to the journal.
+     *
+     * @param typeId The id of the serializer written to every record. It must stay the same for the class, so older records can be read.
+     * @param eventClassO The events class
+     * @param serializer The serializer
+     * @param <eventClass> The events class
+     * @throws IllegalArgumentException If the type id or the class is already registered
+     */
+    public <eventClass extends Event> void register(int typeId, Class<eventClass> eventClassO, EventSerializer<eventClass> serializer) {
+        Type<eventClass> type = new Type<>(typeId, serializer);
+        synchronized (this) {
+            if(this.byId.containsKey(typeId) || this.byClass.containsKey(eventClassO))
+                throw new IllegalArgumentException("Type id " + typeId + " or class " + eventClassO.getName() + " is already registered");
+            this.byId.put(typeId, type);
+            this.byClass.put(eventClassO, type);
+        }
+    }
+
+    /**
+     * @param eventClass The events class
+     * @return If events of the class are written to this journal
+     */
+    public boolean isJournaled(Class<?> eventClass) {
+        return this.byClass.containsKey(eventClass);
+    }
+
+    /**
+     * Appends the event to the journal. This doesn't wait for the event to be forced to the disk.
+     *
+     * @param event The event to append
+     * @return The sequence of the record or {@code -1} if the events class isn't journaled
+     * @throws IOException If the event can't be serialized or a new segment can't be created
+     * @throws IllegalStateException If the journal is closed
+     */
+    public long append(Event<?> event) throws IOException {
+        Type<Event<?>> type = (Type<Event<?>>) this.byClass.get(event.getClass());
+        if(type == null)
+            return -1L;
+
+        synchronized (this) {
+            if(this.closed)
+                throw new IllegalStateException("The event journal is closed");
+            this.record.reset();
+            type.serializer.write(event, this.out);
+            this.out.flush();
+
+            int length = HEADER + this.record.size();
+            if(length > this.segmentSize)
+                throw new IOException("Event of " + length + " bytes doesn't fit into a segment of " + this.segmentSize + " bytes");
+            if(this.active == null || this.active.buffer.remaining() < length)
+                this.rotate();
+
+            long sequence = this.nextSequence++;
+            MappedByteBuffer buffer = this.active.buffer;
+            int position = buffer.position();
+            buffer.putInt(position + 8, type.id);
+            buffer.putLong(position + 12, sequence);
+            buffer.putLong(position + 20, System.currentTimeMillis());
+            buffer.position(position + HEADER);
+            buffer.put(this.record.array(), 0, this.record.size());
+            buffer.putInt(position + 4, checksum(this.checksum, buffer, position, length));
+            // The length is written last, so a record is only read once it is complete
+            buffer.putInt(position, length);
+            this.active.lastSequence = sequence;
+            return sequence;
+        }
+    }
+
+    /**
+     * Forces all appended records to the disk. This is called by the background thread in the commit interval.
+     *
+     * @throws IOException If a sealed segment can't be closed
+     */
+    public void commit() throws IOException {
+        synchronized (this.commitLock) {
+            List<Segment> dirty = new ArrayList<>();
+            long sequence;
+            synchronized (this) {
+                sequence = this.nextSequence - 1;
+                for(Segment segment: this.segments) {
+                    if(segment.buffer != null && segment.forcedSequence < segment.lastSequence)
+                        dirty.add(segment);
+                }
+            }
+            for(Segment segment: dirty) {
+                long last = segment.lastSequence;
+                MappedByteBuffer buffer = segment.buffer;
+                if(buffer == null)
+                    continue;
+                buffer.force();
+                segment.forcedSequence = last;
+            }
+            synchronized (this) {
+                // Sealed segments won't change anymore, so their mapping isn't needed anymore
+                for(Segment segment: dirty) {
+                    if(segment != this.active && segment.forcedSequence == segment.lastSequence)
+                        segment.close();
+                }
+            }
+            this.committedSequence = sequence;
+        }
+    }
+
+    /**
+     * @return The sequence of the last appended record or {@code 0} if the journal is empty
+     */
+    public synchronized long getLastSequence() {
+        return this.nextSequence - 1;
+    }
+
+    /**
+     * @return The sequence of the last record forced to the disk. All records up to this sequence survive a crash.
+     */
+    public long getCommittedSequence() {
+        return this.committedSequence;
+    }
+
+    /**
+     * Reads the events with a sequence in the given range in order of their sequence. Records of unknown type ids are skipped.
+     *
+     * @param fromSequence The first sequence to read
+     * @param toSequence The last sequence to read
+     * @param consumer Receives the recreated events
+     * @throws IOException If a segment can't be read or an event can't be recreated
+     */
+    public void replay(long fromSequence, long toSequence, Consumer<? super Event<?>> consumer) throws IOException {
+        this.replay(fromSequence, toSequence, Long.MIN_VALUE, Long.MAX_VALUE, consumer);
+    }
+
+    /**
+     * Reads the events appended in the given time range in order of their sequence. Records of unknown type ids are skipped.
+     *
+     * @param from The earliest time of the events to read
+     * @param to The latest time of the events to read
+     * @param consumer Receives the recreated events
+     * @throws IOException If a segment can't be read or an event can't be recreated
+     */
+    public void replay(Instant from, Instant to, Consumer<? super Event<?>> consumer) throws IOException {
+        this.replay(1L, Long.MAX_VALUE, from.toEpochMilli(), to.toEpochMilli(), consumer);
+    }
+
+    /**
+     * Reads the events in the given sequence and time range in order of their sequence.
+     *
+     * @param fromSequence The first sequence to read
+     * @param toSequence The last sequence to read
+     * @param fromTime The earliest time in milliseconds of the events to read
+     * @param toTime The latest time in milliseconds of the events to read
+     * @param consumer Receives the recreated events
+     * @throws IOException If a segment can't be read or an event can't be recreated
+     */
+    private void replay(long fromSequence, long toSequence, long fromTime, long toTime, Consumer<? super Event<?>> consumer) throws IOException {
+        List<Segment> segments;
+        long last;
+        synchronized (this) {
+            segments = new ArrayList<>(this.segments);
+            last = Math.min(toSequence, this.nextSequence - 1);
+        }
+
+        for(int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            if(segment.firstSequence > last)
+                break;
+            if(i + 1 < segments.size() && segments.get(i + 1).firstSequence <= fromSequence)
+                continue;
+
+            ByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(segment.file, StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            CRC32 checksum = new CRC32();
+            int position = 0;
+            while (position + HEADER <= buffer.limit()) {
+                int length = buffer.getInt(position);
+                if(length < HEADER || position + length > buffer.limit())
+                    break;
+                if(checksum(checksum, buffer, position, length) != buffer.getInt(position + 4))
+                    throw new IOException("Record at " + position + " in " + segment.file + " is corrupted");
+                long sequence = buffer.getLong(position + 12);
+                if(sequence > last)
+                    return;
+
+                long time = buffer.getLong(position + 20);
+                Type<?> type = this.byId.get(buffer.getInt(position + 8));
+                if(sequence >= fromSequence && time >= fromTime && time <= toTime && type != null) {
+                    byte[] data = new byte[length - HEADER];
+                    buffer.position(position + HEADER);
+                    buffer.get(data);
+                    consumer.accept((Event<?>) type.serializer.read(new DataInputStream(new ByteArrayInputStream(data))));
+                }
+                position += length;
+            }
+        }
+    }
+
+    /**
+     * Commits all appended records and stops the background thread. Appending afterwards throws an {@link IllegalStateException}.
+     *
+     * @throws IOException If the segments can't be forced or closed
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if(this.closed)
+                return;
+            this.closed = true;
+        }
+        // A running commit must finish before the segments are released
+        this.committer.shutdown();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if(this.committer.awaitTermination(1, TimeUnit.MINUTES))
+                    break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if(interrupted)
+            Thread.currentThread().interrupt();
+
+        synchronized (this.commitLock) {
+            this.commit();
+            synchronized (this) {
+                for(Segment segment: this.segments)
+                    segment.close();
+                this.active = null;
+            }
+        }
+    }
+
+    /**
+     * Calculates the checksum of a record. It covers the length and everything after the checksum itself.
+     *
+     * @param checksum The checksum to calculate with
+     * @param buffer The buffer holding the record
+     * @param position The position of the record
+     * @param length The length of the record
+     * @return The checksum of the record
+     */
+    private static int checksum(CRC32 checksum, ByteBuffer buffer, int position, int length) {
+        checksum.reset();
+        checksum.update(length >>> 24);
+        checksum.update(length >>> 16);
+        checksum.update(length >>> 8);
+        checksum.update(length);
+        ByteBuffer record = buffer.duplicate();
+        record.limit(position + length).position(position + 8);
+        checksum.update(record);
+        return (int) checksum.getValue();
+    }
+
+    /**
+     * Seals the active segment and creates a new one starting with the next sequence
+     *
+     * @throws IOException If the segment can't be created
+     */
+    private void rotate() throws IOException {
+        Path file = this.directory.resolve(String.format("%020d", this.nextSequence) + EXTENSION);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Segment segment = new Segment(file, this.nextSequence, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, this.segmentSize));
+        this.segments.add(segment);
+        this.active = segment;
+    }
+
+    /**
+     * Reads the existing segments, so new records are appended after the last complete record.
+     *
+     * @throws IOException If a segment can't be read
+     */
+    private void recover() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory, "*" + EXTENSION)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+
+        CRC32 checksum = new CRC32();
+        for(Path file: files) {
+            String name = file.getFileName().toString();
+            long firstSequence = Long.parseLong(name.substring(0, name.length() - EXTENSION.length()));
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            Segment segment = new Segment(file, firstSequence, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+
+            MappedByteBuffer buffer = segment.buffer;
+            int position = 0;
+            while (position + HEADER <= buffer.limit()) {
+                int length = buffer.getInt(position);
+                if(length < HEADER || position + length > buffer.limit())
+                    break;
+                if(checksum(checksum, buffer, position, length) != buffer.getInt(position + 4))
+                    break;
+                segment.lastSequence = buffer.getLong(position + 12);
+                position += length;
+            }
+
+            // Clears a torn record, so it isn't mistaken for a complete one later on
+            if(position + 4 <= buffer.limit())
+                buffer.putInt(position, 0);
+            buffer.position(position);
+            segment.forcedSequence = segment.lastSequence;
+            if(segment.lastSequence >= firstSequence)
+                this.nextSequence = segment.lastSequence + 1;
+            else
+                this.nextSequence = Math.max(this.nextSequence, firstSequence);
+            if(this.active != null)
+                this.active.close();
+            this.segments.add(segment);
+            this.active = segment;
+        }
+    }
+
+    /**
+     * A registered serializer
+     *
+     * @param <T> The events class
+     */
+    private static class Type<T extends Event> {
+
+        /**
+         * The id written to the records
+         */
+        private final int id;
+        /**
+         * The serializer of the events
+         */
+        private final EventSerializer<T> serializer;
+
+        /**
+         * Creates a new type
+         *
+         * @param id The id written to the records
+         * @param serializer The serializer of the events
+         */
+        Type(int id, EventSerializer<T> serializer) {
+            this.id = id;
+            this.serializer = serializer;
+        }
+    }
+
+    /**
+     * A segment file of the journal
+     */
+    private static class Segment {
+
+        /**
+         * The segment file
+         */
+        private final Path file;
+        /**
+         * The sequence of the first record of the segment
+         */
+        private final long firstSequence;
+        /**
+         * The channel of the file or {@code null} if it is closed
+         */
+        private FileChannel channel;
+        /**
+         * The mapped file or {@code null} if it is closed
+         */
+        private MappedByteBuffer buffer;
+        /**
+         * The sequence of the last record of the segment
+         */
+        private volatile long lastSequence;
+        /**
+         * The sequence of the last record forced to the disk
+         */
+        private volatile long forcedSequence;
+
+        /**
+         * Creates a new segment
+         *
+         * @param file The segment file
+         * @param firstSequence The sequence of the first record of the segment
+         * @param channel The channel of the file
+         * @param buffer The mapped file
+         */
+        Segment(Path file, long firstSequence, FileChannel channel, MappedByteBuffer buffer) {
+            this.file = file;
+            this.firstSequence = firstSequence;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.lastSequence = firstSequence - 1;
+            this.forcedSequence = firstSequence - 1;
+        }
+
+        /**
+         * Closes the channel and drops the mapping of the file
+         *
+         * @throws IOException If the channel can't be closed
+         */
+        void close() throws IOException {
+            if(this.channel != null)
+                this.channel.close();
+            this.channel = null;
+            this.buffer = null;
+        }
+    }
+
+    /**
+     * A byte array output stream giving access to its array, so records don't have to be copied
+     */
+    private static class RecordBuffer extends ByteArrayOutputStream {
+
+        /**
+         * @return The array holding the written bytes
+         */
+        byte[] array() {
+            return this.buf;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ Event Manager
+ EventSerializer.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event.journal;
+
+import de.noisruker.event.events.Event;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes events of a class to the {@link EventJournal} and reads them back for replay.
+ *
+ * @param <T> The events class
+ */
+public interface EventSerializer<T extends Event> {
+
+    /**
+     * Writes the state of the event needed to recreate it.
+     *
+     * @param event The event to write
+     * @param out The output to write to
+     * @throws IOException If the event can't be written
+     */
+    void write(T event, DataOutput out) throws IOException;
+
+    /**
+     * Recreates an event from the state written by {@link EventSerializer#write(Event, DataOutput)}.
+     *
+     * @param in The input to read from
+     * @return The recreated event
+     * @throws IOException If the event can't be read
+     */
+    T read(DataInput in) throws IOException;
+}
@@ -0,0 +1,165 @@
+/*
+ Event Manager
+ EventMetrics.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the runtime metrics of an {@link de.noisruker.event.EventManager} and the {@link de.noisruker.threading.ThreadManager}.
+ * <p>
+ * Metrics are disabled until an instance is set via {@link de.noisruker.event.EventManager#setMetrics(EventMetrics)} or {@link de.noisruker.threading.ThreadManager#setMetrics(EventMetrics)}.
+ * The counters and histograms of an events class are resolved once, while its dispatch table is built, so recording only costs a clock read and a few atomic adds per listener.
+ * <p>
+ * The values can be read via {@link EventMetrics#snapshot()} or over JMX after calling {@link EventMetrics#registerMBean(String)}.
+ */
+public class EventMetrics implements EventMetricsMXBean {
+
+    /**
+     * The number of triggered events by their class
+     */
+    private final Map<Class<?>, LongAdder> triggerCounts;
+    /**
+     * The time spent in every listener by the listener
+     */
+    private final Map<Object, LogHistogram> listenerLatencies;
+    /**
+     * The time async events waited for a thread
+     */
+    private final LogHistogram asyncQueueWait;
+    /**
+     * The time ticks started after their planned start
+     */
+    private final LogHistogram tickLateness;
+
+    /**
+     * Creates an empty metrics collection
+     */
+    public EventMetrics() {
+        this.triggerCounts = new ConcurrentHashMap<>();
+        this.listenerLatencies = new ConcurrentHashMap<>();
+        this.asyncQueueWait = new LogHistogram();
+        this.tickLateness = new LogHistogram();
+    }
+
+    /**
+     * @param eventClass The concrete events class
+     * @return The counter of triggered events of the class
+     */
+    public LongAdder getTriggerCounter(Class<?> eventClass) {
+        return this.triggerCounts.computeIfAbsent(eventClass, key -> new LongAdder());
+    }
+
+    /**
+     * @param listener The listener
+     * @return The histogram of the time spent in the listener
+     */
+    public LogHistogram getListenerHistogram(Object listener) {
+        return this.listenerLatencies.computeIfAbsent(listener, key -> new LogHistogram());
+    }
+
+    /**
+     * Drops the histogram of a removed listener, so the metrics don't keep it reachable.
+     *
+     * @param listener The listener
+     */
+    public void removeListener(Object listener) {
+        this.listenerLatencies.remove(listener);
+    }
+
+    /**
+     * @param nanos The time an async event waited for a thread
+     */
+    public void recordAsyncQueueWait(long nanos) {
+        this.asyncQueueWait.record(nanos);
+    }
+
+    /**
+     * @param nanos The time a tick started after its planned start
+     */
+    public void recordTickLateness(long nanos) {
+        this.tickLateness.record(nanos);
+    }
+
+    @Override
+    public Map<String, Long> getTriggerCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        this.triggerCounts.forEach((eventClass, count) -> counts.put(eventClass.getName(), count.sum()));
+        return counts;
+    }
+
+    @Override
+    public Map<String, HistogramSnapshot> getListenerLatencies() {
+        Map<String, HistogramSnapshot> latencies = new TreeMap<>();
+        this.listenerLatencies.forEach((listener, histogram) -> {
+            String name = listener.toString();
+            // Listeners without a readable name may share it, so the name is made unique
+            if(latencies.containsKey(name))
+                name += "#" + System.identityHashCode(listener);
+            latencies.put(name, histogram.snapshot());
+        });
+        return latencies;
+    }
+
+    @Override
+    public HistogramSnapshot getAsyncQueueWait() {
+        return this.asyncQueueWait.snapshot();
+    }
+
+    @Override
+    public HistogramSnapshot getTickLateness() {
+        return this.tickLateness.snapshot();
+    }
+
+    /**
+     * @return An immutable copy of all recorded values
+     */
+    public MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(this.getTriggerCounts(), this.getListenerLatencies(), this.getAsyncQueueWait(), this.getTickLateness());
+    }
+
+    @Override
+    public void reset() {
+        this.triggerCounts.values().forEach(LongAdder::reset);
+        this.listenerLatencies.values().forEach(LogHistogram::reset);
+        this.asyncQueueWait.reset();
+        this.tickLateness.reset();
+    }
+
+    /**
+     * Registers this instance at the platform MBean server as {@code de.noisruker.event:type=EventMetrics,name=<name>}
+     *
+     * @param name The name to register the metrics with
+     * @return The name the metrics are registered with
+     * @throws JMException If the metrics can't be registered, for example because the name is already in use
+     */
+    public ObjectName registerMBean(String name) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName("de.noisruker.event:type=EventMetrics,name=" + ObjectName.quote(name));
+        server.registerMBean(this, objectName);
+        return objectName;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ Event Manager
+ EventMetricsMXBean.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event.metrics;
+
+import java.util.Map;
+
+/**
+ * The management interface of {@link EventMetrics}, as it is shown over JMX
+ */
+public interface EventMetricsMXBean {
+
+    /**
+     * @return The number of triggered events by the name of their class
+     */
+    Map<String, Long> getTriggerCounts();
+
+    /**
+     * @return The time spent in every listener by its name
+     */
+    Map<String, HistogramSnapshot> getListenerLatencies();
+
+    /**
+     * @return The time async events waited for a thread before they were triggered
+     */
+    HistogramSnapshot getAsyncQueueWait();
+
+    /**
+     * @return The time ticks started after their planned start
+     */
+    HistogramSnapshot getTickLateness();
+
+    /**
+     * Removes all recorded values
+     */
+    void reset();
+}
@@ -0,0 +1,140 @@
+/*
+ Event Manager
+ HistogramSnapshot.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event.metrics;
+
+/**
+ * An immutable copy of the state of a {@link LogHistogram}. All values are in nanoseconds.
+ * <p>
+ * Percentiles are reported as the upper bound of the bucket they fall into, so they are at most twice the real value.
+ */
+public class HistogramSnapshot {
+
+    /**
+     * The counts of the buckets
+     */
+    private final long[] buckets;
+    /**
+     * The number of recorded values
+     */
+    private final long count;
+    /**
+     * The sum of all recorded values
+     */
+    private final long sum;
+    /**
+     * The greatest recorded value
+     */
+    private final long max;
+
+    /**
+     * Creates a new snapshot
+     *
+     * @param buckets The counts of the buckets
+     * @param sum The sum of all recorded values
+     * @param max The greatest recorded value
+     */
+    public HistogramSnapshot(long[] buckets, long sum, long max) {
+        this.buckets = buckets.clone();
+        long count = 0L;
+        for(long bucket: buckets)
+            count += bucket;
+        this.count = count;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    /**
+     * @return The counts of the buckets. Bucket {@code i} holds the values from {@code 2^(i-1)} to {@code 2^i - 1}, bucket {@code 0} holds zero.
+     */
+    public long[] getBuckets() {
+        return this.buckets.clone();
+    }
+
+    /**
+     * @return The number of recorded values
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * @return The sum of all recorded values
+     */
+    public long getSum() {
+        return this.sum;
+    }
+
+    /**
+     * @return The greatest recorded value
+     */
+    public long getMax() {
+        return this.max;
+    }
+
+    /**
+     * @return The mean of all recorded values or {@code 0} if no value was recorded
+     */
+    public double getMean() {
+        return this.count == 0 ? 0.0 : (double) this.sum / this.count;
+    }
+
+    /**
+     * @return The median
+     */
+    public long getP50() {
+        return this.getPercentile(0.5);
+    }
+
+    /**
+     * @return The 90th percentile
+     */
+    public long getP90() {
+        return this.getPercentile(0.9);
+    }
+
+    /**
+     * @return The 99th percentile
+     */
+    public long getP99() {
+        return this.getPercentile(0.99);
+    }
+
+    /**
+     * @param percentile The percentile between {@code 0} and {@code 1}
+     * @return The upper bound of the bucket holding the percentile, but not more than the greatest recorded value. {@code 0} if no value was recorded.
+     */
+    public long getPercentile(double percentile) {
+        if(this.count == 0)
+            return 0L;
+        long rank = Math.max(1L, (long) Math.ceil(percentile * this.count));
+        long seen = 0L;
+        for(int i = 0; i < this.buckets.length; i++) {
+            seen += this.buckets[i];
+            if(seen >= rank)
+                return Math.min(this.max, i == 0 ? 0L : i >= 63 ? Long.MAX_VALUE : (1L << i) - 1);
+        }
+        return this.max;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + this.count + ", mean=" + Math.round(this.getMean()) + "ns, p50=" + this.getP50() + "ns, p99=" + this.getP99() + "ns, max=" + this.max + "ns";
+    }
+}
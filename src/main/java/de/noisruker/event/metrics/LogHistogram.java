@@ -0,0 +1,96 @@
+/*
+ Event Manager
+ LogHistogram.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock free histogram of durations in nanoseconds. Every value is counted in the bucket of its power of two, so bucket {@code i} holds the values from {@code 2^(i-1)} to {@code 2^i - 1} and bucket {@code 0} holds zero.
+ * <p>
+ * Recording a value doesn't lock and doesn't allocate.
+ */
+public class LogHistogram {
+
+    /**
+     * The number of buckets. One for zero and one for every bit of a positive long.
+     */
+    static final int BUCKETS = 64;
+
+    /**
+     * The counts of the buckets
+     */
+    private final AtomicLongArray buckets;
+    /**
+     * The sum of all recorded values
+     */
+    private final LongAdder sum;
+    /**
+     * The greatest recorded value
+     */
+    private final AtomicLong max;
+
+    /**
+     * Creates an empty histogram
+     */
+    public LogHistogram() {
+        this.buckets = new AtomicLongArray(BUCKETS);
+        this.sum = new LongAdder();
+        this.max = new AtomicLong();
+    }
+
+    /**
+     * Records a value. Negative values are recorded as zero.
+     *
+     * @param nanos The value to record
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        this.buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(value));
+        this.sum.add(value);
+
+        long current;
+        while (value > (current = this.max.get()) && !this.max.compareAndSet(current, value)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Removes all recorded values
+     */
+    public void reset() {
+        for(int i = 0; i < BUCKETS; i++)
+            this.buckets.set(i, 0L);
+        this.sum.reset();
+        this.max.set(0L);
+    }
+
+    /**
+     * @return An immutable copy of the current state of this histogram
+     */
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        for(int i = 0; i < BUCKETS; i++)
+            counts[i] = this.buckets.get(i);
+        return new HistogramSnapshot(counts, this.sum.sum(), this.max.get());
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ Event Manager
+ MetricsSnapshot.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.event.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * An immutable copy of all values recorded by an {@link EventMetrics} instance
+ */
+public class MetricsSnapshot {
+
+    /**
+     * The number of triggered events by the name of their class
+     */
+    private final Map<String, Long> triggerCounts;
+    /**
+     * The time spent in every listener by its name
+     */
+    private final Map<String, HistogramSnapshot> listenerLatencies;
+    /**
+     * The time async events waited for a thread
+     */
+    private final HistogramSnapshot asyncQueueWait;
+    /**
+     * The time ticks started after their planned start
+     */
+    private final HistogramSnapshot tickLateness;
+
+    /**
+     * Creates a new snapshot
+     *
+     * @param triggerCounts The number of triggered events by the name of their class
+     * @param listenerLatencies The time spent in every listener by its name
+     * @param asyncQueueWait The time async events waited for a thread
+     * @param tickLateness The time ticks started after their planned start
+     */
+    MetricsSnapshot(Map<String, Long> triggerCounts, Map<String, HistogramSnapshot> listenerLatencies, HistogramSnapshot asyncQueueWait, HistogramSnapshot tickLateness) {
+        this.triggerCounts = Collections.unmodifiableMap(triggerCounts);
+        this.listenerLatencies = Collections.unmodifiableMap(listenerLatencies);
+        this.asyncQueueWait = asyncQueueWait;
+        this.tickLateness = tickLateness;
+    }
+
+    /**
+     * @return The number of triggered events by the name of their class
+     */
+    public Map<String, Long> getTriggerCounts() {
+        return this.triggerCounts;
+    }
+
+    /**
+     * @param eventClass The events class
+     * @return The number of triggered events of exactly this class
+     */
+    public long getTriggerCount(Class<?> eventClass) {
+        return this.triggerCounts.getOrDefault(eventClass.getName(), 0L);
+    }
+
+    /**
+     * @return The time spent in every listener by its name
+     */
+    public Map<String, HistogramSnapshot> getListenerLatencies() {
+        return this.listenerLatencies;
+    }
+
+    /**
+     * @return The time async events waited for a thread before they were triggered
+     */
+    public HistogramSnapshot getAsyncQueueWait() {
+        return this.asyncQueueWait;
+    }
+
+    /**
+     * @return The time ticks started after their planned start
+     */
+    public HistogramSnapshot getTickLateness() {
+        return this.tickLateness;
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ Event Manager
+ DiscardableTask.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.threading;
+
+/**
+ * A task, that is told when the {@link RejectionPolicy#DISCARD_OLDEST} policy drops it, so whoever waits for its result isn't left waiting forever.
+ * For example the async tasks of the {@link de.noisruker.event.EventManager} complete their futures exceptionally.
+ * <p>
+ * Dropped tasks implementing {@link java.util.concurrent.Future} are cancelled instead.
+ */
+public interface DiscardableTask extends Runnable {
+
+    /**
+     * Called once the task was dropped and will never run. It is called on the thread handing the task, that replaced it, to the {@link ThreadManager}.
+     */
+    void discarded();
+
+}
@@ -0,0 +1,191 @@
+/*
+ Event Manager
+ ExecutorConfiguration.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.threading;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The configuration of the thread pool used by the {@link ThreadManager}. Apply it via {@link ThreadManager#configure(ExecutorConfiguration)}.
+ * <p>
+ * A new configuration holds the default values of the {@link ThreadManager}: 3 core threads, 10 threads at maximum, a keep alive time of 1 second and an {@link QueueType#ARRAY array queue} with space for 50 tasks, which {@link RejectionPolicy#ABORT aborts} on overload.
+ */
+public class ExecutorConfiguration {
+
+    /**
+     * The number of threads kept alive while idle
+     */
+    private int corePoolSize = 3;
+    /**
+     * The maximum number of threads
+     */
+    private int maximumPoolSize = 10;
+    /**
+     * The time an idle thread above the core pool size is kept alive
+     */
+    private long keepAliveTime = 1;
+    /**
+     * The unit of the keep alive time
+     */
+    private TimeUnit keepAliveUnit = TimeUnit.SECONDS;
+    /**
+     * The type of the task queue
+     */
+    private QueueType queueType = QueueType.ARRAY;
+    /**
+     * The capacity of the task queue
+     */
+    private int queueCapacity = 50;
+    /**
+     * What happens to tasks, that can't be queued
+     */
+    private RejectionPolicy rejectionPolicy = RejectionPolicy.ABORT;
+    /**
+     * If async tasks run on virtual threads
+     */
+    private boolean virtualThreads = false;
+
+    /**
+     * @param corePoolSize The number of threads kept alive while idle
+     * @return This configuration
+     */
+    public ExecutorConfiguration setCorePoolSize(int corePoolSize) {
+        this.corePoolSize = corePoolSize;
+        return this;
+    }
+
+    /**
+     * @param maximumPoolSize The maximum number of threads
+     * @return This configuration
+     */
+    public ExecutorConfiguration setMaximumPoolSize(int maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+        return this;
+    }
+
+    /**
+     * @param time The time an idle thread above the core pool size is kept alive
+     * @param unit The unit of the time
+     * @return This configuration
+     */
+    public ExecutorConfiguration setKeepAliveTime(long time, TimeUnit unit) {
+        this.keepAliveTime = time;
+        this.keepAliveUnit = unit;
+        return this;
+    }
+
+    /**
+     * @param queueType The type of the task queue
+     * @param capacity The capacity of the task queue. Ignored for {@link QueueType#SYNCHRONOUS}.
+     * @return This configuration
+     */
+    public ExecutorConfiguration setQueue(QueueType queueType, int capacity) {
+        this.queueType = queueType;
+        this.queueCapacity = capacity;
+        return this;
+    }
+
+    /**
+     * @param rejectionPolicy What happens to tasks, that can't be queued
+     * @return This configuration
+     */
+    public ExecutorConfiguration setRejectionPolicy(RejectionPolicy rejectionPolicy) {
+        this.rejectionPolicy = rejectionPolicy;
+        return this;
+    }
+
+    /**
+     * Enables running every async task of the {@link ThreadManager} on its own virtual thread. This is useful for tasks blocking on I/O.
+     * The thread pool configured here is still used for the ticker.
+     * <p>
+     * Virtual threads need java 21 or newer.
+     *
+     * @param virtualThreads If async tasks should run on virtual threads
+     * @return This configuration
+     */
+    public ExecutorConfiguration setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
+    /**
+     * @return The number of threads kept alive while idle
+     */
+    public int getCorePoolSize() {
+        return this.corePoolSize;
+    }
+
+    /**
+     * @return The maximum number of threads
+     */
+    public int getMaximumPoolSize() {
+        return this.maximumPoolSize;
+    }
+
+    /**
+     * @return The time an idle thread above the core pool size is kept alive in nanoseconds
+     */
+    public long getKeepAliveNanos() {
+        return this.keepAliveUnit.toNanos(this.keepAliveTime);
+    }
+
+    /**
+     * @return The type of the task queue
+     */
+    public QueueType getQueueType() {
+        return this.queueType;
+    }
+
+    /**
+     * @return The capacity of the task queue
+     */
+    public int getQueueCapacity() {
+        return this.queueCapacity;
+    }
+
+    /**
+     * @return What happens to tasks, that can't be queued
+     */
+    public RejectionPolicy getRejectionPolicy() {
+        return this.rejectionPolicy;
+    }
+
+    /**
+     * @return If async tasks run on virtual threads
+     */
+    public boolean isVirtualThreads() {
+        return this.virtualThreads;
+    }
+
+    /**
+     * Checks if this configuration describes a valid thread pool.
+     *
+     * @throws IllegalArgumentException If a value is out of range
+     */
+    void validate() {
+        if(this.corePoolSize < 0 || this.maximumPoolSize <= 0 || this.maximumPoolSize < this.corePoolSize)
+            throw new IllegalArgumentException("Invalid pool sizes: core " + this.corePoolSize + ", maximum " + this.maximumPoolSize);
+        if(this.keepAliveTime < 0 || this.keepAliveUnit == null)
+            throw new IllegalArgumentException("Invalid keep alive time");
+        if(this.queueType == null || this.rejectionPolicy == null)
+            throw new IllegalArgumentException("Queue type and rejection policy must be set");
+        if(this.queueType == QueueType.ARRAY && this.queueCapacity <= 0)
+            throw new IllegalArgumentException("An array queue needs a positive capacity");
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ Event Manager
+ OverrunPolicy.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.threading;
+
+/**
+ * Decides how the {@link ThreadManager} ticker continues, if a tick took longer than its period and the next ticks are overdue.
+ */
+public enum OverrunPolicy {
+
+    /**
+     * The overdue ticks are executed directly one after another, until the ticker is back on schedule.
+     */
+    CATCH_UP,
+    /**
+     * The overdue ticks are dropped. The next tick is executed at the next point in time of the original schedule.
+     * The tick counter still advances by the dropped ticks, so it stays in line with the wall-clock time.
+     * Tasks due in the dropped ticks are executed once in the next tick and keep their original schedule from there on.
+     */
+    SKIP,
+    /**
+     * The schedule is moved. The next tick is executed directly and the following ticks keep their period from there on.
+     */
+    STRETCH
+
+}
@@ -0,0 +1,40 @@
+/*
+ Event Manager
+ QueueType.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.threading;
+
+/**
+ * The type of queue holding the tasks of the {@link ThreadManager}, which are waiting for a free thread.
+ */
+public enum QueueType {
+
+    /**
+     * A bounded queue backed by an array. The capacity must be positive.
+     */
+    ARRAY,
+    /**
+     * A queue backed by linked nodes. It is bounded by the capacity or unbounded if the capacity is not positive.
+     */
+    LINKED,
+    /**
+     * No queue at all. Every task is handed directly to a thread, which is created if needed and possible.
+     */
+    SYNCHRONOUS
+
+}
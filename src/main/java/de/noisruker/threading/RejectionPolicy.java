@@ -0,0 +1,47 @@
+/*
+ Event Manager
+ RejectionPolicy.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.threading;
+
+/**
+ * Decides what happens to a task, that is handed to the {@link ThreadManager} while all threads are busy and the queue is full.
+ */
+public enum RejectionPolicy {
+
+    /**
+     * The calling thread waits until the queue has space for the task.
+     */
+    BLOCK,
+    /**
+     * The task is executed directly on the calling thread.
+     */
+    CALLER_RUNS,
+    /**
+     * The oldest task waiting in the queue is dropped and never executed, to make space for the new task.
+     * A dropped {@link DiscardableTask} is {@link DiscardableTask#discarded() told} and a dropped {@link java.util.concurrent.Future} is cancelled,
+     * so the async events of the {@link de.noisruker.event.EventManager} complete their futures exceptionally.
+     * {@link UndiscardableTask}s are never dropped. If the queue only holds those, the new task is executed on the calling thread.
+     */
+    DISCARD_OLDEST,
+    /**
+     * A {@link java.util.concurrent.RejectedExecutionException} is thrown to the caller.
+     */
+    ABORT
+
+}
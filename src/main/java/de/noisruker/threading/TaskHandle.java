@@ -0,0 +1,39 @@
+/*
+ Event Manager
+ TaskHandle.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.threading;
+
+/**
+ * A handle to a task executed continuously by the {@link ThreadManager} ticker. It is returned by {@link ThreadManager#executeContinuously(Runnable, long)}.
+ */
+public interface TaskHandle {
+
+    /**
+     * Stops the continuous execution of the task. A running execution is not interrupted.
+     *
+     * @return {@code true} if the task was cancelled by this call, {@code false} if it was already cancelled before
+     */
+    boolean cancel();
+
+    /**
+     * @return If the task is cancelled
+     */
+    boolean isCancelled();
+
+}
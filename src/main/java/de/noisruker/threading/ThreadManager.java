@@ -20,14 +20,20 @@
 package de.noisruker.threading;
 
 import de.noisruker.event.EventManager;
+import de.noisruker.event.jfr.TickInterruptedJfrEvent;
+import de.noisruker.event.jfr.TickJfrEvent;
+import de.noisruker.event.metrics.EventMetrics;
 import de.noisruker.threading.events.TickInterruptedEvent;
 import de.noisruker.threading.events.TickerStoppedEvent;
 
-import java.util.List;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
 /**
- * The thread manager handles the parallel running of threads and the main loop thread ticking 30 times per second.
+ * The thread manager handles the parallel running of threads and the main loop thread ticking 30 times per second by default.
  */
 public class ThreadManager {
 
@@ -46,22 +52,195 @@ public class ThreadManager {
     /**
      * The execution pool to handle the running threads
      */
-    private final ThreadPoolExecutor executor;
+    private volatile ThreadPoolExecutor executor;
+    /**
+     * The executor running the async tasks. This is the {@link ThreadManager#executor thread pool} or an executor starting a virtual thread per task.
+     */
+    private volatile ExecutorService asyncExecutor;
+    /**
+     * The number of tasks rejected by the execution pool because all threads were busy and the queue was full
+     */
+    private final LongAdder rejectedTasks;
     /**
      * All tasks to be updated while ticking
      */
-    private final List<ContinuosTask> continuosTasks;
+    private final TimingWheel continuosTasks;
     /**
      * Control parameter for the ticking
      */
     private volatile boolean stopTicking = true, stoppedTicking = false;
+    /**
+     * The next tick to execute. It survives restarts of the ticker, as the deadlines of the ticking tasks are absolute ticks.
+     */
+    private volatile long nextTick = 0L;
+    /**
+     * The time between the start of two ticks in nanoseconds
+     */
+    private volatile long tickPeriod = TimeUnit.SECONDS.toNanos(1) / 30;
+    /**
+     * How the ticker continues after a tick took longer than its period
+     */
+    private volatile OverrunPolicy overrunPolicy = OverrunPolicy.CATCH_UP;
+    /**
+     * The duration and the lateness of the last tick in nanoseconds
+     */
+    private volatile long lastTickDuration = 0L, lastTickLateness = 0L;
+    /**
+     * The pool running the independent tasks of a tick in parallel or {@code null} if all tasks run on the tickers thread
+     */
+    private volatile ForkJoinPool tickPool = null;
+    /**
+     * The metrics to record the tick lateness to or {@code null} if metrics are disabled
+     */
+    private volatile EventMetrics metrics = null;
+    /**
+     * The number of ticks dropped by the {@link OverrunPolicy#SKIP} policy
+     */
+    private final LongAdder skippedTicks;
 
     /**
      * Creates an instance of the thread manager and initialize the thread pool and the continuos tasks.
      */
     private ThreadManager() {
-        this.executor = new ThreadPoolExecutor(3, 10, 1, TimeUnit.SECONDS, new ArrayBlockingQueue<>(50));
-        this.continuosTasks = new CopyOnWriteArrayList<>();
+        this.rejectedTasks = new LongAdder();
+        this.skippedTicks = new LongAdder();
+        this.executor = this.createExecutor(new ExecutorConfiguration());
+        this.asyncExecutor = this.executor;
+        this.continuosTasks = new TimingWheel(512);
+    }
+
+    /**
+     * Replaces the thread pool by a new one following the given configuration. Tasks already handed to the old thread pool are still executed.
+     *
+     * @param configuration The configuration of the new thread pool
+     * @throws IllegalArgumentException If the configuration is invalid
+     * @throws UnsupportedOperationException If virtual threads are requested, but not supported by the running java version
+     */
+    public synchronized void configure(ExecutorConfiguration configuration) {
+        configuration.validate();
+        ExecutorService virtual = configuration.isVirtualThreads() ? createVirtualThreadExecutor() : null;
+
+        ThreadPoolExecutor old = this.executor;
+        ExecutorService oldAsync = this.asyncExecutor;
+        this.executor = this.createExecutor(configuration);
+        this.asyncExecutor = virtual == null ? this.executor : virtual;
+        old.shutdown();
+        if(oldAsync != old)
+            oldAsync.shutdown();
+    }
+
+    /**
+     * Creates an executor starting a new virtual thread for every task. Virtual threads are available since java 21, so the executor is looked up at runtime.
+     *
+     * @return The new executor
+     * @throws UnsupportedOperationException If the running java version doesn't support virtual threads
+     */
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) MethodHandles.publicLookup()
+                    .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class))
+                    .invoke();
+        } catch (Throwable t) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by this java version", t);
+        }
+    }
+
+    /**
+     * @return If async tasks are executed on virtual threads
+     */
+    public boolean isUsingVirtualThreads() {
+        return this.asyncExecutor != this.executor;
+    }
+
+    /**
+     * Creates a thread pool following the given configuration.
+     *
+     * @param configuration The configuration of the thread pool
+     * @return The new thread pool
+     */
+    private ThreadPoolExecutor createExecutor(ExecutorConfiguration configuration) {
+        BlockingQueue<Runnable> queue;
+        switch (configuration.getQueueType()) {
+            case LINKED:
+                queue = configuration.getQueueCapacity() > 0 ? new LinkedBlockingQueue<>(configuration.getQueueCapacity()) : new LinkedBlockingQueue<>();
+                break;
+            case SYNCHRONOUS:
+                queue = new SynchronousQueue<>();
+                break;
+            default:
+                queue = new ArrayBlockingQueue<>(configuration.getQueueCapacity());
+        }
+
+        RejectedExecutionHandler policy;
+        switch (configuration.getRejectionPolicy()) {
+            case BLOCK:
+                policy = (r, e) -> {
+                    if(e.isShutdown())
+                        throw new RejectedExecutionException("The thread pool is shut down");
+                    try {
+                        e.getQueue().put(r);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        throw new RejectedExecutionException("Interrupted while waiting for space in the queue", ex);
+                    }
+                };
+                break;
+            case CALLER_RUNS:
+                policy = new ThreadPoolExecutor.CallerRunsPolicy();
+                break;
+            case DISCARD_OLDEST:
+                policy = (r, e) -> {
+                    if(e.isShutdown()) {
+                        discarded(r);
+                        return;
+                    }
+                    // Drops the oldest task, that no other task waits for
+                    for(Runnable queued: e.getQueue()) {
+                        if(!(queued instanceof UndiscardableTask) && e.getQueue().remove(queued)) {
+                            e.execute(r);
+                            discarded(queued);
+                            return;
+                        }
+                    }
+                    r.run();
+                };
+                break;
+            default:
+                policy = new ThreadPoolExecutor.AbortPolicy();
+        }
+
+        final RejectedExecutionHandler handler = policy;
+        return new ThreadPoolExecutor(configuration.getCorePoolSize(), configuration.getMaximumPoolSize(),
+                configuration.getKeepAliveNanos(), TimeUnit.NANOSECONDS, queue, (r, e) -> {
+            this.rejectedTasks.increment();
+            handler.rejectedExecution(r, e);
+        });
+    }
+
+    /**
+     * Tells a task dropped by the {@link RejectionPolicy#DISCARD_OLDEST} policy, that it will never run
+     *
+     * @param task The dropped task
+     */
+    private static void discarded(Runnable task) {
+        if(task instanceof DiscardableTask)
+            ((DiscardableTask) task).discarded();
+        else if(task instanceof Future)
+            ((Future<?>) task).cancel(false);
+    }
+
+    /**
+     * @return The number of tasks waiting in the queue for a free thread
+     */
+    public int getQueueDepth() {
+        return this.executor.getQueue().size();
+    }
+
+    /**
+     * @return The number of tasks, that found all threads busy and the queue full, since the start of this thread manager. What happened to them depends on the {@link RejectionPolicy}.
+     */
+    public long getRejectedTaskCount() {
+        return this.rejectedTasks.sum();
     }
 
     /**
@@ -73,47 +252,183 @@ public class ThreadManager {
     }
 
     /**
-     * Calls {@link ThreadPoolExecutor#execute(Runnable)} on the current thread pool
+     * Calls {@link ThreadPoolExecutor#execute(Runnable)} on the current thread pool or starts a new virtual thread for the task if {@link ExecutorConfiguration#setVirtualThreads(boolean) enabled}
      * @param r The task to execute async
      */
     public void executeAsync(Runnable r) {
-        executor.execute(r);
+        asyncExecutor.execute(r);
     }
 
     /**
-     * Calls {@link ThreadPoolExecutor#submit(Callable)} on the current thread pool
+     * Calls {@link ThreadPoolExecutor#submit(Callable)} on the current thread pool or starts a new virtual thread for the task if {@link ExecutorConfiguration#setVirtualThreads(boolean) enabled}
      * @param <T> The return type of the executed task
      * @param c The task to execute
      * @return A future holding the result of this task when available
      */
     @SuppressWarnings("unused")
     public <T> Future<T> executeAsyncAndReturn(Callable<T> c) {
-        return executor.submit(c);
+        return asyncExecutor.submit(c);
+    }
+
+    /**
+     * Sets how often the ticker ticks. Takes effect with the next tick.
+     * <p>
+     * Note: Tasks added via {@link ThreadManager#executeContinuously(Runnable, long, TimeUnit)} keep the number of ticks between their executions, that was calculated with the rate at the time they were added.
+     *
+     * @param ticksPerSecond The number of ticks per second
+     * @throws IllegalArgumentException If the rate is not positive
+     */
+    public void setTickRate(double ticksPerSecond) {
+        if(!(ticksPerSecond > 0))
+            throw new IllegalArgumentException("The tick rate must be positive, but was " + ticksPerSecond);
+        this.tickPeriod = Math.max(1L, Math.round(TimeUnit.SECONDS.toNanos(1) / ticksPerSecond));
+    }
+
+    /**
+     * @return The number of ticks per second
+     */
+    public double getTickRate() {
+        return (double) TimeUnit.SECONDS.toNanos(1) / this.tickPeriod;
+    }
+
+    /**
+     * @param overrunPolicy How the ticker continues after a tick took longer than its period
+     */
+    public void setOverrunPolicy(OverrunPolicy overrunPolicy) {
+        if(overrunPolicy == null)
+            throw new IllegalArgumentException("The overrun policy must not be null");
+        this.overrunPolicy = overrunPolicy;
+    }
+
+    /**
+     * @return How the ticker continues after a tick took longer than its period
+     */
+    public OverrunPolicy getOverrunPolicy() {
+        return this.overrunPolicy;
+    }
+
+    /**
+     * Enables or disables the parallel execution of the tasks of a tick. If enabled, the tasks marked as independent are spread over a pool with one thread per available processor.
+     * All other tasks keep running in order on the tickers thread. A tick ends after all its tasks are done.
+     *
+     * @param parallel If the independent tasks of a tick should run in parallel
+     */
+    public void setParallelTicking(boolean parallel) {
+        this.setParallelTicking(parallel ? Runtime.getRuntime().availableProcessors() : 0);
+    }
+
+    /**
+     * Enables or disables the parallel execution of the tasks of a tick. If enabled, the tasks marked as independent are spread over a pool with the given number of threads.
+     * All other tasks keep running in order on the tickers thread. A tick ends after all its tasks are done.
+     *
+     * @param parallelism The number of threads running the independent tasks of a tick or {@code 0} to run all tasks on the tickers thread
+     * @throws IllegalArgumentException If the parallelism is negative
+     */
+    public synchronized void setParallelTicking(int parallelism) {
+        if(parallelism < 0)
+            throw new IllegalArgumentException("The parallelism must not be negative, but was " + parallelism);
+        ForkJoinPool old = this.tickPool;
+        if(old == null ? parallelism == 0 : old.getParallelism() == parallelism)
+            return;
+        this.tickPool = parallelism == 0 ? null : new ForkJoinPool(parallelism);
+        if(old != null)
+            old.shutdown();
+    }
+
+    /**
+     * @return If the independent tasks of a tick run in parallel
+     */
+    public boolean isParallelTicking() {
+        return this.tickPool != null;
+    }
+
+    /**
+     * @return How long the last tick took to execute all its tasks in nanoseconds
+     */
+    public long getLastTickDuration() {
+        return this.lastTickDuration;
     }
 
     /**
-     * Adds a task to the ticking tasks. This task will be executed at every tick it wants to. The ticker ticks 30 times a second
+     * @return How much later than scheduled the last tick started in nanoseconds
+     */
+    public long getLastTickLateness() {
+        return this.lastTickLateness;
+    }
+
+    /**
+     * Enables or disables recording the lateness of every tick.
+     *
+     * @param metrics The metrics to record to or {@code null} to disable recording
+     */
+    public void setMetrics(EventMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * @return The metrics the tick lateness is recorded to or {@code null} if metrics are disabled
+     */
+    public EventMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * @return The number of ticks dropped by the {@link OverrunPolicy#SKIP} policy since the start of this thread manager
+     */
+    public long getSkippedTicks() {
+        return this.skippedTicks.sum();
+    }
+
+    /**
+     * Adds a task to the ticking tasks. This task will be executed about every given time, rounded to whole ticks.
      * @param r The task to be executed when ticking
-     * @param everyTick How often this task will be executed. 1 means every tick, when unit is set to milliseconds.
-     * @param unit The unit the tick is calculated with.
+     * @param time How often this task will be executed.
+     * @param unit The unit of the time.
+     * @return A handle to cancel the task
      */
     @SuppressWarnings("unused")
-    public synchronized void executeContinuously(Runnable r, long everyTick, TimeUnit unit) {
-        this.continuosTasks.add(new ContinuosTask(r, everyTick, unit));
+    public TaskHandle executeContinuously(Runnable r, long time, TimeUnit unit) {
+        return this.executeContinuously(r, time, unit, false);
     }
 
     /**
-     * Adds a task to the ticking tasks. This task will be executed at every {@code everyTick}s tick. The ticker ticks 30 times a second
+     * Adds a task to the ticking tasks. This task will be executed about every given time, rounded to whole ticks.
+     * @param r The task to be executed when ticking
+     * @param time How often this task will be executed.
+     * @param unit The unit of the time.
+     * @param independent If the task may run in parallel to the other tasks of a tick, when {@link ThreadManager#setParallelTicking(boolean) parallel ticking} is enabled
+     * @return A handle to cancel the task
+     */
+    public TaskHandle executeContinuously(Runnable r, long time, TimeUnit unit, boolean independent) {
+        return this.continuosTasks.schedule(r, Math.max(1L, Math.round((double) unit.toNanos(time) / this.tickPeriod)), independent);
+    }
+
+    /**
+     * Adds a task to the ticking tasks. This task will be executed at every {@code everyTick}s tick. The ticker ticks 30 times a second by default
      * @param r The task to be executed when ticking
      * @param everyTick How often this task will be executed.
+     * @return A handle to cancel the task
      */
     @SuppressWarnings("unused")
-    public synchronized void executeContinuously(Runnable r, long everyTick) {
-        this.continuosTasks.add(new ContinuosTask(r, everyTick, TimeUnit.MILLISECONDS));
+    public TaskHandle executeContinuously(Runnable r, long everyTick) {
+        return this.executeContinuously(r, everyTick, false);
+    }
+
+    /**
+     * Adds a task to the ticking tasks. This task will be executed at every {@code everyTick}s tick.
+     * @param r The task to be executed when ticking
+     * @param everyTick How often this task will be executed.
+     * @param independent If the task may run in parallel to the other tasks of a tick, when {@link ThreadManager#setParallelTicking(boolean) parallel ticking} is enabled
+     * @return A handle to cancel the task
+     */
+    public TaskHandle executeContinuously(Runnable r, long everyTick, boolean independent) {
+        return this.continuosTasks.schedule(r, everyTick, independent);
     }
 
     /**
      * Starts the ticker in a new thread, if it is not running.
+     * <p>
+     * The ticker has its own thread instead of a thread of the pool, so it is neither dropped, run on the calling thread nor delayed by the {@link RejectionPolicy} of a saturated pool.
      * @throws IllegalStateException - If the ticker is already running
      */
     @SuppressWarnings("unused")
@@ -122,49 +437,86 @@ public class ThreadManager {
             throw new IllegalStateException("Already ticking!");
 
         this.stopTicking = false;
-        this.executeAsync(() -> {
-            long timeout = 1000L / 30L;
-
-            long buffer = 0L;
-
-            long tick = 0L;
-
+        Thread ticker = new Thread(() -> {
+            long tick = this.nextTick;
+            // The time the next tick is scheduled for
+            long next = System.nanoTime();
 
             while (!stopTicking) {
+                long start = System.nanoTime();
+                this.lastTickLateness = start - next;
+                EventMetrics metrics = this.metrics;
+                if(metrics != null)
+                    metrics.recordTickLateness(start - next);
+
+                TickJfrEvent recorded = new TickJfrEvent();
+                recorded.begin();
                 try {
-                    long start = System.currentTimeMillis();
-
                     this.tick(tick);
-
-                    tick = (tick + 1) % Long.MAX_VALUE;
-                    long toWait = (timeout - buffer) - (System.currentTimeMillis() - start);
-
-                    if (toWait < 0) buffer = -toWait;
-                    else {
-
-                            Thread.sleep(toWait);
-
-                        buffer = 0L;
-                    }
                 } catch (Exception e) {
+                    TickInterruptedJfrEvent interrupted = new TickInterruptedJfrEvent();
+                    if(interrupted.shouldCommit()) {
+                        interrupted.tick = tick;
+                        interrupted.exceptionClass = e.getClass();
+                        interrupted.message = e.getMessage();
+                        interrupted.commit();
+                    }
                     if (!this.stopTicking && !EventManager.getInstance().triggerEvent(new TickInterruptedEvent(tick, e)))
                         break;
+                } finally {
+                    recorded.end();
+                    if(recorded.shouldCommit()) {
+                        recorded.tick = tick;
+                        recorded.lateness = start - next;
+                        recorded.commit();
+                    }
                 }
+
+                tick = (tick + 1) % Long.MAX_VALUE;
+                this.nextTick = tick;
+                long end = System.nanoTime();
+                this.lastTickDuration = end - start;
+
+                long period = this.tickPeriod;
+                next += period;
+                if(end - next > 0) {
+                    switch (this.overrunPolicy) {
+                        case SKIP:
+                            long skipped = (end - next) / period + 1;
+                            this.skippedTicks.add(skipped);
+                            next += skipped * period;
+                            // Keep the tick time in line with the wall-clock time, tasks due in the skipped ticks run once in the next tick
+                            this.continuosTasks.skip(tick, tick + skipped);
+                            tick = (tick + skipped) % Long.MAX_VALUE;
+                            this.nextTick = tick;
+                            break;
+                        case STRETCH:
+                            next = end;
+                            break;
+                        default:
+                            break;
+                    }
+                }
+
+                long toWait;
+                while ((toWait = next - System.nanoTime()) > 0 && !this.stopTicking)
+                    LockSupport.parkNanos(toWait);
             }
 
             this.stopTicking = true;
             this.stoppedTicking = true;
             EventManager.getInstance().triggerEvent(new TickerStoppedEvent());
 
-        });
+        }, "ThreadManager ticker");
+        ticker.start();
     }
 
     /**
-     * Ticks all tasks
+     * Ticks all tasks due in this tick
      * @param tick The current tick
      */
-    private synchronized void tick(final long tick) {
-        this.continuosTasks.forEach(t -> t.tick(tick));
+    private void tick(final long tick) {
+        this.continuosTasks.tick(tick, this.tickPool);
     }
 
     /**
@@ -179,45 +531,4 @@ public class ThreadManager {
         this.stoppedTicking = false;
     }
 
-    /**
-     * A task that will be executed on every tick and calling its runnable when its time is ready
-     */
-    private static class ContinuosTask {
-        /**
-         * The runnable to call
-         */
-        private final Runnable toExecute;
-        /**
-         * When to call the runnable
-         */
-        private final long time;
-        /**
-         * Which time format the time param is following
-         */
-        private final TimeUnit unit;
-
-        /**
-         * Creates a new Continuously executed task
-         * @param r The runnable to execute
-         * @param time When to execute
-         * @param unit The time unit time follows
-         */
-        public ContinuosTask(Runnable r, long time, TimeUnit unit) {
-            this.toExecute = r;
-            this.time = time;
-            this.unit = unit;
-        }
-
-        /**
-         * Checks if this executable is ready for ticking in this tick and ticks if it is.
-         * @param millis The current ticks time.
-         */
-        public synchronized void tick(long millis) {
-            if(millis % this.unit.toMillis(this.time) == 0) {
-                this.toExecute.run();
-            }
-        }
-    }
-
-
 }
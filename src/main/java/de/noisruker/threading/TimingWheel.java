@@ -0,0 +1,321 @@
+/*
+ Event Manager
+ TimingWheel.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.threading;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A hashed timing wheel holding the continuously executed tasks of the {@link ThreadManager}.
+ * <p>
+ * Every task is stored in the slot of the tick it is due next. So a tick only touches the tasks of its own slot instead of all registered tasks.
+ * The wheel itself is only accessed by the ticking thread. Adding and cancelling tasks is done from any thread via queues drained at the start of every tick.
+ */
+class TimingWheel {
+
+    /**
+     * The slots of the wheel, each holding a linked list of the tasks due in a tick mapped to this slot
+     */
+    private final WheelTask[] slots;
+    /**
+     * The mask to map a tick to its slot
+     */
+    private final int mask;
+    /**
+     * Tasks added since the last tick
+     */
+    private final Queue<WheelTask> added;
+    /**
+     * Tasks cancelled since the last tick
+     */
+    private final Queue<WheelTask> cancelled;
+    /**
+     * The sequence number of the next added task. Used to execute tasks due in the same tick in order of their registration.
+     */
+    private final AtomicLong sequence;
+    /**
+     * The tasks, that were due in skipped ticks and are executed once in the next tick
+     */
+    private final List<WheelTask> overdue;
+    /**
+     * The tasks due in the current tick. Reused by every tick.
+     */
+    private final List<WheelTask> due;
+    /**
+     * The independent tasks of the current tick running in parallel. Reused by every tick.
+     */
+    private final List<ForkJoinTask<?>> running;
+
+    /**
+     * Creates a new timing wheel.
+     *
+     * @param size The number of slots. Is rounded up to the next power of two.
+     */
+    TimingWheel(int size) {
+        int slots = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+        this.slots = new WheelTask[slots];
+        this.mask = slots - 1;
+        this.added = new ConcurrentLinkedQueue<>();
+        this.cancelled = new ConcurrentLinkedQueue<>();
+        this.sequence = new AtomicLong();
+        this.overdue = new ArrayList<>();
+        this.due = new ArrayList<>();
+        this.running = new ArrayList<>();
+    }
+
+    /**
+     * Adds a task to the wheel. It is executed at every tick, that is a multiple of the period, beginning with the next tick.
+     *
+     * @param r The task to execute
+     * @param period The number of ticks between two executions
+     * @param independent If the task may run in parallel to the other tasks of a tick
+     * @return The handle to cancel the task
+     */
+    TaskHandle schedule(Runnable r, long period, boolean independent) {
+        if(period <= 0)
+            throw new IllegalArgumentException("The period must be positive, but was " + period);
+        WheelTask task = new WheelTask(r, period, independent, this.sequence.getAndIncrement());
+        this.added.add(task);
+        return task;
+    }
+
+    /**
+     * Executes all tasks due in the given tick.
+     * <p>
+     * If a pool is given, the independent tasks are executed in this pool, while the other tasks run in order on the calling thread.
+     * This method returns after all tasks are done.
+     *
+     * @param tick The current tick
+     * @param pool The pool to execute the independent tasks in or {@code null} to execute all tasks on the calling thread
+     */
+    void tick(final long tick, final ForkJoinPool pool) {
+        WheelTask task;
+        while ((task = this.cancelled.poll()) != null)
+            this.unlink(task);
+        while ((task = this.added.poll()) != null) {
+            if(task.cancelled)
+                continue;
+            task.deadline = ((tick + task.period - 1) / task.period) * task.period;
+            this.link(task);
+        }
+
+        // Collect and reschedule all due tasks before running them, so a failing task leaves the wheel consistent
+        this.due.clear();
+        task = this.slots[(int) (tick & this.mask)];
+        while (task != null) {
+            WheelTask next = task.next;
+            if(task.deadline == tick) {
+                this.due.add(task);
+                this.unlink(task);
+                task.deadline += task.period;
+                this.link(task);
+            }
+            task = next;
+        }
+        this.due.addAll(this.overdue);
+        this.overdue.clear();
+        if(this.due.size() > 1)
+            this.due.sort((a, b) -> Long.compare(a.sequence, b.sequence));
+
+        if(pool == null) {
+            for(int i = 0; i < this.due.size(); i++) {
+                task = this.due.get(i);
+                if(!task.cancelled)
+                    task.toExecute.run();
+            }
+            return;
+        }
+
+        this.running.clear();
+        try {
+            for(int i = 0; i < this.due.size(); i++) {
+                task = this.due.get(i);
+                if(task.independent && !task.cancelled) {
+                    try {
+                        this.running.add(pool.submit(task.toExecute));
+                    } catch (RejectedExecutionException e) {
+                        // The pool was replaced while ticking
+                        task.toExecute.run();
+                    }
+                }
+            }
+            for(int i = 0; i < this.due.size(); i++) {
+                task = this.due.get(i);
+                if(!task.independent && !task.cancelled)
+                    task.toExecute.run();
+            }
+        } finally {
+            this.awaitRunning();
+        }
+    }
+
+    /**
+     * Skips the ticks from the first given tick up to the next executed tick. Tasks due in the skipped ticks are executed once in the next tick
+     * and keep the ticks of their original schedule from there on.
+     *
+     * @param from The first skipped tick
+     * @param to The next executed tick
+     */
+    void skip(final long from, final long to) {
+        long count = Math.min(to - from, this.slots.length);
+        for(long i = 0; i < count; i++) {
+            WheelTask task = this.slots[(int) ((from + i) & this.mask)];
+            while (task != null) {
+                WheelTask next = task.next;
+                if(task.deadline >= from && task.deadline < to) {
+                    this.unlink(task);
+                    task.deadline += ((to - task.deadline + task.period - 1) / task.period) * task.period;
+                    this.link(task);
+                    // Tasks due exactly in the next tick are executed by it anyway
+                    if(task.deadline != to)
+                        this.overdue.add(task);
+                }
+                task = next;
+            }
+        }
+    }
+
+    /**
+     * Waits for all independent tasks of the current tick to finish.
+     *
+     * @throws RuntimeException The first exception thrown by one of the tasks
+     */
+    private void awaitRunning() {
+        RuntimeException failure = null;
+        for(int i = 0; i < this.running.size(); i++) {
+            try {
+                this.running.get(i).join();
+            } catch (RuntimeException e) {
+                if(failure == null)
+                    failure = e;
+            }
+        }
+        this.running.clear();
+        if(failure != null)
+            throw failure;
+    }
+
+    /**
+     * Adds the task at the front of the slot of its deadline.
+     *
+     * @param task The task to link
+     */
+    private void link(WheelTask task) {
+        int slot = (int) (task.deadline & this.mask);
+        task.previous = null;
+        task.next = this.slots[slot];
+        if(task.next != null)
+            task.next.previous = task;
+        this.slots[slot] = task;
+        task.linked = true;
+    }
+
+    /**
+     * Removes the task from the slot of its deadline.
+     *
+     * @param task The task to unlink
+     */
+    private void unlink(WheelTask task) {
+        if(!task.linked)
+            return;
+        if(task.previous != null)
+            task.previous.next = task.next;
+        else
+            this.slots[(int) (task.deadline & this.mask)] = task.next;
+        if(task.next != null)
+            task.next.previous = task.previous;
+        task.previous = task.next = null;
+        task.linked = false;
+    }
+
+    /**
+     * A task stored in the wheel
+     */
+    private class WheelTask implements TaskHandle {
+
+        /**
+         * The runnable to call
+         */
+        private final Runnable toExecute;
+        /**
+         * The number of ticks between two executions
+         */
+        private final long period;
+        /**
+         * If the task may run in parallel to the other tasks of a tick
+         */
+        private final boolean independent;
+        /**
+         * The registration order of this task
+         */
+        private final long sequence;
+        /**
+         * The next tick this task is executed in
+         */
+        private long deadline;
+        /**
+         * The neighbours in the slots list
+         */
+        private WheelTask previous, next;
+        /**
+         * If this task is linked into a slot
+         */
+        private boolean linked;
+        /**
+         * If this task is cancelled
+         */
+        private volatile boolean cancelled;
+
+        /**
+         * Creates a new task for the wheel
+         * @param r The runnable to execute
+         * @param period The number of ticks between two executions
+         * @param independent If the task may run in parallel to the other tasks of a tick
+         * @param sequence The registration order of this task
+         */
+        WheelTask(Runnable r, long period, boolean independent, long sequence) {
+            this.toExecute = r;
+            this.period = period;
+            this.independent = independent;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public synchronized boolean cancel() {
+            if(this.cancelled)
+                return false;
+            this.cancelled = true;
+            TimingWheel.this.cancelled.add(this);
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return this.cancelled;
+        }
+    }
+
+}
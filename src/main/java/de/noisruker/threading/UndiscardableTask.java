@@ -0,0 +1,31 @@
+/*
+ Event Manager
+ UndiscardableTask.java
+ Copyright © 2021  Fabius Mettner (Team Noisruker)
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.noisruker.threading;
+
+/**
+ * A task, that is never dropped by the {@link RejectionPolicy#DISCARD_OLDEST} policy, because other tasks wait for it to run.
+ * For example the lanes running partitioned events implement it, as dropping a lane would stop all later events of its partitions.
+ * <p>
+ * If the queue only holds such tasks, the new task is executed on the calling thread instead.
+ * A task implementing {@link DiscardableTask} as well is still told, if it is handed to a shut down {@link ThreadManager}.
+ */
+public interface UndiscardableTask extends Runnable {
+
+}
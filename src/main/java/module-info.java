@@ -1,8 +1,13 @@
 module de.noisruker.event {
     requires java.base;
+    requires java.management;
+    requires jdk.jfr;
 
     exports de.noisruker.event;
     exports de.noisruker.event.events;
+    exports de.noisruker.event.jfr;
+    exports de.noisruker.event.journal;
+    exports de.noisruker.event.metrics;
     exports de.noisruker.threading;
     exports de.noisruker.threading.events;
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+package de.noiruker.event;
+
+import de.noisruker.event.EventManager;
+import de.noisruker.event.journal.EventJournal;
+import de.noisruker.event.journal.EventSerializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EventJournalTest {
+
+    private static final EventSerializer<SomeEvent> SERIALIZER = new EventSerializer<SomeEvent>() {
+        @Override
+        public void write(SomeEvent event, DataOutput out) throws IOException {
+            out.writeUTF(event.getEventName());
+        }
+
+        @Override
+        public SomeEvent read(DataInput in) throws IOException {
+            return new SomeEvent<>(in.readUTF(), new SomeEvent.SomeClass());
+        }
+    };
+
+    @Test
+    public void journaledEventsAreReplayedAfterReopening(@TempDir Path directory) throws IOException {
+        EventManager manager = new EventManager() {};
+        try (EventJournal journal = new EventJournal(directory, 128, 1, TimeUnit.MILLISECONDS)) {
+            journal.register(1, SomeEvent.class, SERIALIZER);
+            manager.setJournal(journal);
+            for(int i = 1; i <= 20; i++)
+                manager.triggerEvent(new SomeEvent<>("event " + i, new SomeEvent.SomeClass()));
+            manager.triggerEvent(new SomeEvent.SomeChildEvent(new SomeEvent.SomeClass()));
+            assertEquals(20, journal.getLastSequence());
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.count() > 1);
+        }
+
+        EventManager restarted = new EventManager() {};
+        List<String> replayed = new ArrayList<>();
+        restarted.registerEventListener(SomeEvent.class, event -> replayed.add(event.getEventName()));
+        try (EventJournal journal = new EventJournal(directory, 128, 1, TimeUnit.MILLISECONDS)) {
+            journal.register(1, SomeEvent.class, SERIALIZER);
+            restarted.setJournal(journal);
+            assertEquals(20, journal.getCommittedSequence());
+
+            restarted.replayJournal(journal, 5, 7);
+            assertEquals(List.of("event 5", "event 6", "event 7"), replayed);
+            assertEquals(20, journal.getLastSequence());
+
+            replayed.clear();
+            restarted.replayJournal(journal, Instant.EPOCH, Instant.now());
+            assertEquals(20, replayed.size());
+
+            restarted.triggerEvent(new SomeEvent<>("event 21", new SomeEvent.SomeClass()));
+            assertEquals(21, journal.getLastSequence());
+        }
+    }
+
+    @Test
+    public void tornHeadersAreDetectedAndClosedJournalsRejectAppends(@TempDir Path directory) throws IOException {
+        EventJournal journal = new EventJournal(directory, 1024, 1, TimeUnit.MILLISECONDS);
+        journal.register(1, SomeEvent.class, SERIALIZER);
+        for(int i = 1; i <= 3; i++)
+            journal.append(new SomeEvent<>("event " + i, new SomeEvent.SomeClass()));
+        journal.close();
+        assertThrows(IllegalStateException.class, () -> journal.append(new SomeEvent<>("event 4", new SomeEvent.SomeClass())));
+
+        // Changes the sequence in the header of the second record, its data stays intact
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int length = channel.map(FileChannel.MapMode.READ_ONLY, 0, 4).getInt(0);
+            channel.write(ByteBuffer.wrap(new byte[] { 42 }), length + 19);
+        }
+
+        try (EventJournal reopened = new EventJournal(directory, 1024, 1, TimeUnit.MILLISECONDS)) {
+            assertEquals(1, reopened.getLastSequence());
+        }
+    }
+}
@@ -0,0 +1,528 @@
+package de.noiruker.event;
+
+import de.noisruker.event.EventListenerRegistrar;
+import de.noisruker.event.EventManager;
+import de.noisruker.event.Subscription;
+import de.noisruker.event.events.Event;
+import de.noisruker.event.events.EventListener;
+import de.noisruker.event.events.EventPool;
+import de.noisruker.event.events.IEventListener;
+import de.noisruker.event.events.IListenerErrorHandler;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EventManagerTest {
+
+    @Test
+    public void triggerCallsEveryMatchingListenerOnce() {
+        EventManager manager = new EventManager() {};
+        AtomicInteger child = new AtomicInteger(), parent = new AtomicInteger();
+
+        manager.registerEventListener(SomeEvent.SomeChildEvent.class, event -> child.incrementAndGet());
+        manager.registerEventListener(SomeEvent.class, event -> parent.incrementAndGet());
+
+        manager.triggerEvent(new SomeEvent.SomeChildEvent(new SomeEvent.SomeClass()));
+        assertEquals(1, child.get());
+        assertEquals(1, parent.get());
+
+        manager.triggerEvent(new SomeEvent<>("Text", new SomeEvent.SomeClass()));
+        assertEquals(1, child.get());
+        assertEquals(2, parent.get());
+    }
+
+    @Test
+    public void registrationChangesAreSeenByFollowingTriggers() {
+        EventManager manager = new EventManager() {};
+        AtomicInteger calls = new AtomicInteger();
+        IEventListener<SomeEvent> listener = event -> calls.incrementAndGet();
+
+        manager.triggerEvent(new SomeEvent.SomeChildEvent(new SomeEvent.SomeClass()));
+        manager.registerEventListener(SomeEvent.class, listener);
+        manager.triggerEvent(new SomeEvent.SomeChildEvent(new SomeEvent.SomeClass()));
+        assertEquals(1, calls.get());
+
+        manager.removeEventListener(SomeEvent.class, listener);
+        manager.triggerEvent(new SomeEvent.SomeChildEvent(new SomeEvent.SomeClass()));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void registerAllPublishesEveryListener() {
+        EventManager manager = new EventManager() {};
+        AtomicInteger calls = new AtomicInteger();
+        Map<Class<? extends Event>, List<? extends IEventListener<?>>> listeners = new HashMap<>();
+        listeners.put(SomeEvent.class, List.<IEventListener<SomeEvent>>of(event -> calls.incrementAndGet(), event -> calls.incrementAndGet()));
+        listeners.put(SomeEvent.SomeChildEvent.class, List.<IEventListener<SomeEvent.SomeChildEvent>>of(event -> calls.addAndGet(10)));
+
+        manager.registerAll(listeners);
+        manager.triggerEvent(new SomeEvent.SomeChildEvent(new SomeEvent.SomeClass()));
+
+        assertEquals(12, calls.get());
+    }
+
+    @Test
+    public void asyncTriggersCompleteWithTheResults() throws Exception {
+        EventManager manager = new EventManager() {};
+        manager.registerEventListener(SomeEvent.class, event -> event.setResult(event.getEventName().length()));
+
+        assertEquals(4, manager.triggerEventAsync(new SomeEvent<>("Text", new SomeEvent.SomeClass())).get(5, TimeUnit.SECONDS));
+
+        List<SomeEvent<SomeEvent.SomeClass>> events = new ArrayList<>();
+        for(int i = 0; i < 100; i++)
+            events.add(new SomeEvent<>("x".repeat(i), new SomeEvent.SomeClass()));
+        List<Integer> results = manager.triggerEventsAsync(events).get(5, TimeUnit.SECONDS);
+
+        assertEquals(100, results.size());
+        for(int i = 0; i < 100; i++)
+            assertEquals(i, results.get(i));
+    }
+
+    @Test
+    public void partitionedEventsKeepTheirOrder() throws Exception {
+        EventManager manager = new EventManager() {};
+        manager.setPartitionLanes(4);
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        manager.registerPartitionKey(SomeEvent.class, SomeEvent::getEventName);
+        manager.registerEventListener(SomeEvent.class, event -> {
+            seen.computeIfAbsent(event.getEventName(), key -> Collections.synchronizedList(new ArrayList<>())).add((Integer) event.getResult());
+            Thread.yield();
+        });
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for(int i = 0; i < 200; i++) {
+            SomeEvent<SomeEvent.SomeClass> event = new SomeEvent<>("key" + (i % 3), new SomeEvent.SomeClass());
+            event.setResult(i);
+            futures.add(manager.triggerEventAsync(event));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        assertEquals(3, seen.size());
+        seen.forEach((key, values) -> {
+            for(int i = 1; i < values.size(); i++)
+                assertTrue(values.get(i - 1) < values.get(i));
+        });
+    }
+
+    @Test
+    public void pooledEventsAreResetAndReused() {
+        EventManager manager = new EventManager() {};
+        manager.registerEventListener(SomeEvent.class, event -> event.setResult(1));
+        EventPool<SomeEvent.SomeChildEvent> pool = manager.getEventPool(SomeEvent.SomeChildEvent.class, () -> new SomeEvent.SomeChildEvent(new SomeEvent.SomeClass()));
+
+        SomeEvent.SomeChildEvent event = pool.acquire();
+        assertEquals(1, manager.triggerEvent(event));
+        pool.release(event);
+        assertThrows(IllegalStateException.class, () -> pool.release(event));
+
+        SomeEvent.SomeChildEvent reused = pool.acquire();
+        assertSame(event, reused);
+        assertNull(reused.getResult());
+        assertSame(pool, manager.getEventPool(SomeEvent.SomeChildEvent.class, () -> null));
+    }
+
+    @Test
+    public void annotatedMethodsAreCalled() {
+        EventManager manager = new EventManager() {};
+        AnnotatedListeners listeners = new AnnotatedListeners();
+        StaticListeners.calls.set(0);
+
+        manager.registerEventListeners(AnnotatedListeners.class, listeners);
+        manager.registerEventListeners(StaticListeners.class, null);
+        manager.triggerEvent(new SomeEvent.SomeChildEvent(new SomeEvent.SomeClass()));
+
+        assertEquals(1, listeners.calls.get());
+        assertEquals(1, StaticListeners.calls.get());
+        assertEquals(1, listeners.childCalls.get());
+    }
+
+    @Test
+    public void methodsWithoutRegistrarAreBoundWithoutReflection() throws Exception {
+        EventManager manager = new EventManager() {};
+        StackTraceListener listener = new StackTraceListener();
+        Method bindListener = EventManager.class.getDeclaredMethod("bindListener", Method.class, Object.class, Class.class);
+        bindListener.setAccessible(true);
+
+        IEventListener<SomeEvent<?>> bound = (IEventListener<SomeEvent<?>>) bindListener.invoke(manager,
+                StackTraceListener.class.getMethod("onEvent", SomeEvent.class), listener, SomeEvent.class);
+        bound.listen(new SomeEvent<>("Text", new SomeEvent.SomeClass()));
+
+        assertEquals(StackTraceListener.class.getName() + "#onEvent", bound.toString());
+        assertNotNull(listener.stackTrace);
+        // Only the frames between the test and the listener method matter, JUnit calls the test itself via reflection
+        for(StackTraceElement element: listener.stackTrace) {
+            if(element.getClassName().equals(EventManagerTest.class.getName()))
+                break;
+            assertFalse(element.getClassName().startsWith("java.lang.reflect.") || element.getClassName().startsWith("jdk.internal.reflect."), element.toString());
+        }
+    }
+
+    @Test
+    public void generatedRegistrarsAreUsed() throws Exception {
+        Class<?> registrar = Class.forName("de.noiruker.event.EventManagerTest_$AnnotatedListeners_EventListenerRegistrar");
+        assertTrue(EventListenerRegistrar.class.isAssignableFrom(registrar));
+
+        EventManager manager = new EventManager() {};
+        AnnotatedListeners listeners = new AnnotatedListeners();
+        manager.registerEventListeners(AnnotatedListeners.class, null);
+        manager.registerEventListeners(AnnotatedListeners.class, listeners);
+        manager.triggerEvent(new SomeEvent.SomeChildEvent(new SomeEvent.SomeClass()));
+
+        assertEquals(1, listeners.calls.get());
+        assertEquals(1, listeners.childCalls.get());
+    }
+
+    @Test
+    public void subscriptionsAndOwnersCanBeUnregistered() {
+        EventManager manager = new EventManager() {};
+        AtomicInteger calls = new AtomicInteger();
+        AnnotatedListeners first = new AnnotatedListeners(), second = new AnnotatedListeners();
+
+        Subscription subscription = manager.registerEventListener(SomeEvent.class, event -> calls.incrementAndGet());
+        manager.registerEventListeners(AnnotatedListeners.class, first);
+        manager.registerEventListeners(AnnotatedListeners.class, first, true);
+        manager.registerEventListeners(AnnotatedListeners.class, second);
+        manager.triggerEvent(new SomeEvent<>("Text", new SomeEvent.SomeClass()));
+        assertEquals(1, calls.get());
+        assertEquals(2, first.calls.get());
+
+        subscription.unsubscribe();
+        assertFalse(subscription.isSubscribed());
+        manager.unregisterAll(first);
+        manager.triggerEvent(new SomeEvent<>("Text", new SomeEvent.SomeClass()));
+        assertEquals(1, calls.get());
+        assertEquals(2, first.calls.get());
+        assertEquals(2, second.calls.get());
+    }
+
+    @Test
+    public void weakListenersAreRemovedOnceTheirOwnerIsCollected() throws Exception {
+        EventManager manager = new EventManager() {};
+        Subscription subscription = manager.registerEventListeners(AnnotatedListeners.class, new AnnotatedListeners(), true);
+        assertTrue(subscription.isSubscribed());
+
+        for(int i = 0; i < 100 && subscription.isSubscribed(); i++) {
+            System.gc();
+            manager.triggerEvent(new SomeEvent<>("Text", new SomeEvent.SomeClass()));
+            Thread.sleep(10);
+        }
+        assertFalse(subscription.isSubscribed());
+    }
+
+    @Test
+    public void coalescedEventsAreDispatchedOncePerKey() {
+        EventManager manager = new EventManager() {};
+        List<SomeEvent<?>> dispatched = new ArrayList<>();
+        manager.registerEventListener(SomeEvent.class, dispatched::add);
+        manager.registerCoalescing(SomeEvent.class, Event::getEventName);
+
+        SomeEvent<?> lastA = null, lastB = null;
+        for(int i = 0; i < 100; i++) {
+            lastA = new SomeEvent<>("a", new SomeEvent.SomeClass());
+            lastB = new SomeEvent<>("b", new SomeEvent.SomeClass());
+            manager.triggerEvent(lastA);
+            manager.triggerEvent(lastB);
+        }
+        assertTrue(dispatched.isEmpty());
+
+        manager.flushCoalesced();
+        assertEquals(2, dispatched.size());
+        assertTrue(dispatched.contains(lastA) && dispatched.contains(lastB));
+
+        manager.triggerEvent(lastA);
+        manager.removeCoalescing(SomeEvent.class);
+        assertEquals(3, dispatched.size());
+        manager.triggerEvent(lastA);
+        assertEquals(4, dispatched.size());
+    }
+
+    @Test
+    public void batchListenersReceiveFullBatchesAndTheRestOnUnsubscribe() {
+        EventManager manager = new EventManager() {};
+        List<Integer> sizes = Collections.synchronizedList(new ArrayList<>());
+        Subscription subscription = manager.registerBatchListener(SomeEvent.class, events -> sizes.add(events.size()), 3, 1, TimeUnit.HOURS, true);
+
+        for(int i = 0; i < 7; i++)
+            manager.triggerEvent(new SomeEvent<>("Text", new SomeEvent.SomeClass()));
+        assertEquals(List.of(3, 3), sizes);
+
+        subscription.unsubscribe();
+        assertEquals(List.of(3, 3, 1), sizes);
+    }
+
+    @Test
+    public void invalidBatchListenerArgumentsRegisterNothing() {
+        EventManager manager = new EventManager() {};
+        List<Integer> sizes = Collections.synchronizedList(new ArrayList<>());
+        assertThrows(IllegalArgumentException.class, () -> manager.registerBatchListener(SomeEvent.class, events -> sizes.add(events.size()), 0, 1, TimeUnit.HOURS, true));
+        assertThrows(IllegalArgumentException.class, () -> manager.registerBatchListener(SomeEvent.class, events -> sizes.add(events.size()), 1, 0, TimeUnit.HOURS, true));
+        assertThrows(IllegalArgumentException.class, () -> manager.registerBatchListener(SomeEvent.class, events -> sizes.add(events.size()), 1, 1, null, true));
+        assertThrows(IllegalArgumentException.class, () -> manager.registerBatchListener(SomeEvent.class, events -> sizes.add(events.size()), 1, -1, TimeUnit.HOURS));
+
+        manager.triggerEvent(new SomeEvent<>("Text", new SomeEvent.SomeClass()));
+        assertTrue(sizes.isEmpty());
+    }
+
+    @Test
+    public void failingBatchListenersReachTheHandlerAndTheBreaker() {
+        EventManager manager = new EventManager() {};
+        List<String> failedEvents = new ArrayList<>();
+        AtomicInteger disabled = new AtomicInteger(), inline = new AtomicInteger(), flushed = new AtomicInteger();
+        manager.setListenerErrorHandler(new IListenerErrorHandler() {
+            @Override
+            public void handle(Event<?> event, IEventListener<?> listener, Throwable error) {
+                failedEvents.add(event.getEventName());
+            }
+
+            @Override
+            public void disabled(IEventListener<?> listener, int failures) {
+                disabled.incrementAndGet();
+            }
+        });
+        manager.setCircuitBreaker(1, 1, TimeUnit.HOURS);
+        manager.registerBatchListener(SomeEvent.class, events -> {
+            inline.incrementAndGet();
+            throw new IllegalStateException("inline");
+        }, 2, 1, TimeUnit.HOURS, true);
+        Subscription subscription = manager.registerBatchListener(SomeEvent.class, events -> {
+            flushed.incrementAndGet();
+            throw new IllegalStateException("flushed");
+        }, 10, 1, TimeUnit.HOURS, true);
+
+        manager.triggerEvent(new SomeEvent<>("first", new SomeEvent.SomeClass()));
+        manager.triggerEvent(new SomeEvent<>("second", new SomeEvent.SomeClass()));
+        manager.triggerEvent(new SomeEvent<>("third", new SomeEvent.SomeClass()));
+        assertEquals(1, inline.get());
+        assertEquals(List.of("second"), failedEvents);
+        assertEquals(1, disabled.get());
+
+        subscription.unsubscribe();
+        assertEquals(1, flushed.get());
+        assertEquals(List.of("second", "first"), failedEvents);
+        assertEquals(2, disabled.get());
+        assertEquals(2L, manager.getListenerFailures().values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    public void lazyEventsAreOnlyCreatedWithListeners() {
+        EventManager manager = new EventManager() {};
+        AtomicInteger created = new AtomicInteger();
+        Supplier<SomeEvent.SomeChildEvent> supplier = () -> {
+            created.incrementAndGet();
+            return new SomeEvent.SomeChildEvent(new SomeEvent.SomeClass());
+        };
+
+        assertFalse(manager.hasListeners(SomeEvent.SomeChildEvent.class));
+        assertNull(manager.triggerEvent(SomeEvent.SomeChildEvent.class, supplier));
+        assertEquals(0, created.get());
+
+        Subscription subscription = manager.registerEventListener(SomeEvent.class, event -> event.setResult(1));
+        assertTrue(manager.hasListeners(SomeEvent.SomeChildEvent.class));
+        assertEquals(1, manager.triggerEvent(SomeEvent.SomeChildEvent.class, supplier));
+        assertEquals(1, created.get());
+
+        subscription.unsubscribe();
+        assertFalse(manager.hasListeners(SomeEvent.SomeChildEvent.class));
+    }
+
+    @Test
+    public void failingListenersAreIsolatedAndDisabled() throws InterruptedException {
+        EventManager manager = new EventManager() {};
+        List<Throwable> errors = new ArrayList<>();
+        AtomicInteger disabled = new AtomicInteger(), failing = new AtomicInteger(), healthy = new AtomicInteger();
+        manager.setListenerErrorHandler(new IListenerErrorHandler() {
+            @Override
+            public void handle(Event<?> event, IEventListener<?> listener, Throwable error) {
+                errors.add(error);
+            }
+
+            @Override
+            public void disabled(IEventListener<?> listener, int failures) {
+                disabled.incrementAndGet();
+            }
+        });
+        manager.setCircuitBreaker(3, 50, TimeUnit.MILLISECONDS);
+
+        IEventListener<SomeEvent> listener = event -> {
+            failing.incrementAndGet();
+            throw new IllegalStateException("broken");
+        };
+        manager.registerEventListener(SomeEvent.class, listener);
+        manager.registerEventListener(SomeEvent.class, event -> healthy.incrementAndGet());
+
+        for(int i = 0; i < 5; i++)
+            manager.triggerEvent(new SomeEvent<>("Text", new SomeEvent.SomeClass()));
+        assertEquals(5, healthy.get());
+        assertEquals(3, failing.get());
+        assertEquals(3, errors.size());
+        assertEquals("broken", errors.get(0).getMessage());
+        assertEquals(1, disabled.get());
+        assertTrue(manager.isListenerDisabled(listener));
+        assertEquals(List.of(3L), List.copyOf(manager.getListenerFailures().values()));
+
+        Thread.sleep(60);
+        manager.triggerEvent(new SomeEvent<>("Text", new SomeEvent.SomeClass()));
+        manager.triggerEvent(new SomeEvent<>("Text", new SomeEvent.SomeClass()));
+        assertEquals(4, failing.get());
+        assertTrue(manager.isListenerDisabled(listener));
+    }
+
+    @Test
+    public void exceptionsOfAnnotatedListenersReachTheHandlerUnwrapped() {
+        EventManager manager = new EventManager() {};
+        List<Throwable> errors = new ArrayList<>();
+        manager.setListenerErrorHandler((event, listener, error) -> errors.add(error));
+        AnnotatedListeners listeners = new AnnotatedListeners();
+        manager.registerEventListeners(AnnotatedListeners.class, listeners);
+
+        manager.triggerEvent(new SomeEvent<>("Text", new SomeEvent.SomeClass()));
+        assertEquals(1, listeners.calls.get());
+        assertEquals(1, errors.size());
+        assertEquals("failing listener", errors.get(0).getMessage());
+    }
+
+    @Test
+    public void keyedListenersAreOnlyCalledForTheirKey() {
+        EventManager manager = new EventManager() {};
+        Map<String, AtomicInteger> calls = new HashMap<>();
+        List<Subscription> subscriptions = new ArrayList<>();
+        for(int i = 0; i < 100; i++) {
+            AtomicInteger counter = new AtomicInteger();
+            calls.put("event " + i, counter);
+            subscriptions.add(manager.registerEventListener(SomeEvent.class, "event " + i, event -> counter.incrementAndGet()));
+        }
+        AtomicInteger byClass = new AtomicInteger();
+        manager.registerEventListener(SomeEvent.class, Object::getClass, SomeEvent.SomeChildEvent.class, event -> byClass.incrementAndGet());
+        AtomicInteger withoutKey = new AtomicInteger();
+        manager.registerEventListener(SomeEvent.class, event -> null, null, event -> withoutKey.incrementAndGet());
+
+        manager.triggerEvent(new SomeEvent<>("event 7", new SomeEvent.SomeClass()));
+        manager.triggerEvent(new SomeEvent<>("unknown", new SomeEvent.SomeClass()));
+        manager.triggerEvent(new SomeEvent.SomeChildEvent(new SomeEvent.SomeClass()));
+        assertEquals(1, calls.get("event 7").get());
+        assertEquals(1, calls.values().stream().mapToInt(AtomicInteger::get).sum());
+        assertEquals(1, byClass.get());
+        assertEquals(3, withoutKey.get());
+
+        subscriptions.get(7).unsubscribe();
+        manager.triggerEvent(new SomeEvent<>("event 7", new SomeEvent.SomeClass()));
+        assertEquals(1, calls.get("event 7").get());
+
+        subscriptions.forEach(Subscription::unsubscribe);
+        manager.triggerEvent(new SomeEvent.SomeChildEvent(new SomeEvent.SomeClass()));
+        assertEquals(2, byClass.get());
+    }
+
+    @Test
+    public void keyedListenersKeepTheDispatchTablesAndAreReportedOnce() throws Exception {
+        EventManager manager = new EventManager() {};
+        List<IEventListener<?>> failed = new ArrayList<>();
+        manager.setListenerErrorHandler((event, listener, error) -> {
+            failed.add(listener);
+            throw new IllegalStateException("handler", error);
+        });
+        manager.setCircuitBreaker(1, 1, TimeUnit.HOURS);
+        IEventListener<SomeEvent> broken = event -> {
+            throw new IllegalArgumentException("broken");
+        };
+        manager.registerEventListener(SomeEvent.class, "broken", broken);
+        Subscription other = manager.registerEventListener(SomeEvent.class, "other", event -> { });
+        manager.registerEventListener(SomeEvent.class, "kept", event -> { });
+        Field dispatchTable = EventManager.class.getDeclaredField("dispatchTable");
+        dispatchTable.setAccessible(true);
+
+        manager.triggerEvent(new SomeEvent<>("other", new SomeEvent.SomeClass()));
+        Map<?, ?> tables = (Map<?, ?>) dispatchTable.get(manager);
+        assertFalse(tables.isEmpty());
+        other.unsubscribe();
+        assertFalse(tables.isEmpty());
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> manager.triggerEvent(new SomeEvent<>("broken", new SomeEvent.SomeClass())));
+        assertEquals("handler", thrown.getMessage());
+        assertEquals(List.of(broken), failed);
+        assertTrue(manager.isListenerDisabled(broken));
+        assertEquals(1, manager.getListenerFailures().size());
+    }
+
+    @Test
+    public void parallelListenersResultsAreReduced() {
+        EventManager manager = new EventManager() {};
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        for(int i = 1; i <= 10; i++) {
+            final int value = i;
+            manager.registerEventListener(SomeEvent.class, event -> {
+                threads.add(Thread.currentThread());
+                event.setResult(value);
+            });
+        }
+        manager.registerParallelDispatch(SomeEvent.class, Integer::sum);
+
+        SomeEvent<?> event = new SomeEvent<>("Text", new SomeEvent.SomeClass());
+        assertEquals(55, (Integer) manager.triggerEvent(event));
+        assertTrue(threads.contains(Thread.currentThread()));
+
+        event.setResult(1);
+        event.setResult(2);
+        assertEquals(2, event.getResult());
+    }
+
+    public static class AnnotatedListeners {
+
+        final AtomicInteger calls = new AtomicInteger(), childCalls = new AtomicInteger();
+
+        @EventListener
+        public void onEvent(SomeEvent<?> event) {
+            this.calls.incrementAndGet();
+        }
+
+        @EventListener
+        public boolean onChildEvent(SomeEvent.SomeChildEvent event) {
+            return this.childCalls.incrementAndGet() > 0;
+        }
+
+        @EventListener
+        public void onFailingEvent(SomeEvent<?> event) {
+            throw new IllegalStateException("failing listener");
+        }
+    }
+
+    public static class StackTraceListener {
+
+        StackTraceElement[] stackTrace;
+
+        public void onEvent(SomeEvent<?> event) {
+            this.stackTrace = new Throwable().getStackTrace();
+        }
+    }
+
+    public static class StaticListeners {
+
+        static final AtomicInteger calls = new AtomicInteger();
+
+        @EventListener
+        public static void onEvent(SomeEvent<?> event) {
+            calls.incrementAndGet();
+        }
+    }
+
+}
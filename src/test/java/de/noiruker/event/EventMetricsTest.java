@@ -0,0 +1,87 @@
+package de.noiruker.event;
+
+import de.noisruker.event.EventManager;
+import de.noisruker.event.events.IEventListener;
+import de.noisruker.event.metrics.EventMetrics;
+import de.noisruker.event.metrics.HistogramSnapshot;
+import de.noisruker.event.metrics.LogHistogram;
+import de.noisruker.event.metrics.MetricsSnapshot;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EventMetricsTest {
+
+    @Test
+    public void histogramReportsBucketBounds() {
+        LogHistogram histogram = new LogHistogram();
+        for(int i = 0; i < 99; i++)
+            histogram.record(100);
+        histogram.record(5000);
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(100, snapshot.getCount());
+        assertEquals(5000, snapshot.getMax());
+        assertEquals(127, snapshot.getP50());
+        assertEquals(127, snapshot.getP99());
+        assertEquals(5000, snapshot.getPercentile(1.0));
+    }
+
+    @Test
+    public void triggersAndListenersAreRecorded() throws Exception {
+        EventManager manager = new EventManager() {};
+        EventMetrics metrics = new EventMetrics();
+        manager.registerEventListener(SomeEvent.class, event -> {});
+        manager.registerEventListeners(EventManagerTest.StaticListeners.class, null);
+
+        manager.triggerEvent(new SomeEvent<>("Text", new SomeEvent.SomeClass()));
+        assertNull(manager.getMetrics());
+        manager.setMetrics(metrics);
+        manager.triggerEvent(new SomeEvent<>("Text", new SomeEvent.SomeClass()));
+        manager.triggerEvent(new SomeEvent.SomeChildEvent(new SomeEvent.SomeClass()));
+        manager.triggerEventAsync(new SomeEvent<>("Text", new SomeEvent.SomeClass())).get(5, TimeUnit.SECONDS);
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(2, snapshot.getTriggerCount(SomeEvent.class));
+        assertEquals(1, snapshot.getTriggerCount(SomeEvent.SomeChildEvent.class));
+        assertEquals(3, snapshot.getListenerLatencies().get(EventManagerTest.StaticListeners.class.getName() + "#onEvent").getCount());
+        assertEquals(1, snapshot.getAsyncQueueWait().getCount());
+
+        ObjectName name = metrics.registerMBean("test");
+        try {
+            assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+        } finally {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+    }
+
+    @Test
+    public void removedListenersDropTheirHistograms() {
+        EventManager manager = new EventManager() {};
+        EventMetrics metrics = new EventMetrics();
+        manager.setMetrics(metrics);
+        IEventListener<SomeEvent> listener = new IEventListener<SomeEvent>() {
+            @Override
+            public void listen(SomeEvent event) {
+            }
+
+            @Override
+            public String toString() {
+                return "removed listener";
+            }
+        };
+        manager.registerEventListener(SomeEvent.class, listener);
+
+        manager.triggerEvent(new SomeEvent<>("Text", new SomeEvent.SomeClass()));
+        assertTrue(metrics.getListenerLatencies().containsKey("removed listener"));
+        manager.removeEventListener(SomeEvent.class, listener);
+        assertFalse(metrics.getListenerLatencies().containsKey("removed listener"));
+    }
+}
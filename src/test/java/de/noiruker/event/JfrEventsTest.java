@@ -0,0 +1,39 @@
+package de.noiruker.event;
+
+import de.noisruker.event.EventManager;
+import de.noisruker.event.jfr.ListenerJfrEvent;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JfrEventsTest {
+
+    @Test
+    public void listenerInvocationsAreRecordedByJfr() throws Exception {
+        EventManager manager = new EventManager() {};
+        manager.registerEventListeners(EventManagerTest.StaticListeners.class, null);
+
+        Path file = Files.createTempFile("events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ListenerJfrEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            manager.triggerEvent(new SomeEvent<>("Text", new SomeEvent.SomeClass()));
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("de.noisruker.ListenerInvocation")
+                    && event.getString("listener").equals(EventManagerTest.StaticListeners.class.getName() + "#onEvent")));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package de.noiruker.event;
+
+import de.noisruker.event.EventManager;
+import de.noisruker.event.RingBufferEventBus;
+import de.noisruker.event.WaitStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RingBufferEventBusTest {
+
+    @Test
+    public void everyEventIsHandledInOrderOfItsPublisher() throws InterruptedException {
+        EventManager manager = new EventManager() {};
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        manager.registerEventListener(SomeEvent.class, event -> seen.computeIfAbsent(event.getEventName(), key -> new ArrayList<>()).add((Integer) event.getResult()));
+
+        RingBufferEventBus<SomeEvent<SomeEvent.SomeClass>> bus = new RingBufferEventBus<>(manager, 16, WaitStrategy.YIELD);
+        bus.start();
+
+        List<Thread> publishers = new ArrayList<>();
+        for(int p = 0; p < 4; p++) {
+            final String name = "publisher" + p;
+            Thread publisher = new Thread(() -> {
+                for(int i = 0; i < 5000; i++) {
+                    SomeEvent<SomeEvent.SomeClass> event = new SomeEvent<>(name, new SomeEvent.SomeClass());
+                    event.setResult(i);
+                    bus.publish(event);
+                }
+            });
+            publishers.add(publisher);
+            publisher.start();
+        }
+        for(Thread publisher: publishers)
+            publisher.join();
+        bus.stop();
+
+        assertEquals(4, seen.size());
+        seen.forEach((name, values) -> {
+            assertEquals(5000, values.size());
+            for(int i = 0; i < values.size(); i++)
+                assertEquals(i, values.get(i));
+        });
+    }
+
+    @Test
+    public void failingListenersReachTheHandlerAndTheConsumerKeepsRunning() throws InterruptedException {
+        List<String> handled = new ArrayList<>(), failed = new ArrayList<>();
+        RingBufferEventBus<SomeEvent<SomeEvent.SomeClass>> bus = new RingBufferEventBus<>(4, WaitStrategy.PARK, event -> {
+            if(event.getEventName().equals("broken"))
+                throw new IllegalStateException("broken");
+            handled.add(event.getEventName());
+        });
+        bus.setListenerErrorHandler((event, listener, error) -> {
+            failed.add(event.getEventName());
+            throw new IllegalStateException("handler");
+        });
+        bus.start();
+
+        bus.publish(new SomeEvent<>("a", new SomeEvent.SomeClass()));
+        bus.publish(new SomeEvent<>("broken", new SomeEvent.SomeClass()));
+        bus.publish(new SomeEvent<>("b", new SomeEvent.SomeClass()));
+        bus.stop();
+
+        assertEquals(List.of("a", "b"), handled);
+        assertEquals(List.of("broken"), failed);
+    }
+
+    @Test
+    public void tryPublishFailsIfFull() {
+        RingBufferEventBus<SomeEvent<SomeEvent.SomeClass>> bus = new RingBufferEventBus<>(2, WaitStrategy.PARK, event -> { });
+
+        assertTrue(bus.tryPublish(new SomeEvent<>("a", new SomeEvent.SomeClass())));
+        assertTrue(bus.tryPublish(new SomeEvent<>("b", new SomeEvent.SomeClass())));
+        assertFalse(bus.tryPublish(new SomeEvent<>("c", new SomeEvent.SomeClass())));
+        assertEquals(2, bus.size());
+    }
+
+}
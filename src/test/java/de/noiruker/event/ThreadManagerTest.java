@@ -0,0 +1,355 @@
+package de.noiruker.event;
+
+import de.noisruker.event.EventManager;
+import de.noisruker.threading.ExecutorConfiguration;
+import de.noisruker.threading.OverrunPolicy;
+import de.noisruker.threading.QueueType;
+import de.noisruker.threading.RejectionPolicy;
+import de.noisruker.threading.TaskHandle;
+import de.noisruker.threading.ThreadManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ThreadManagerTest {
+
+    @AfterEach
+    public void resetExecutor() {
+        ThreadManager.getInstance().configure(new ExecutorConfiguration());
+        ThreadManager.getInstance().setTickRate(30);
+        ThreadManager.getInstance().setOverrunPolicy(OverrunPolicy.CATCH_UP);
+        ThreadManager.getInstance().setParallelTicking(false);
+    }
+
+    @Test
+    public void callerRunsWhenSaturated() throws InterruptedException {
+        ThreadManager manager = ThreadManager.getInstance();
+        manager.configure(new ExecutorConfiguration().setCorePoolSize(1).setMaximumPoolSize(1)
+                .setQueue(QueueType.ARRAY, 1).setRejectionPolicy(RejectionPolicy.CALLER_RUNS));
+        long rejected = manager.getRejectedTaskCount();
+
+        CountDownLatch release = new CountDownLatch(1), done = new CountDownLatch(2);
+        Runnable blocking = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        };
+        manager.executeAsync(blocking);
+        manager.executeAsync(blocking);
+        assertEquals(1, manager.getQueueDepth());
+
+        AtomicReference<Thread> runner = new AtomicReference<>();
+        manager.executeAsync(() -> runner.set(Thread.currentThread()));
+
+        assertEquals(Thread.currentThread(), runner.get());
+        assertEquals(rejected + 1, manager.getRejectedTaskCount());
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void discardOldestKeepsPartitionLanes() throws Exception {
+        ThreadManager threads = ThreadManager.getInstance();
+        threads.configure(new ExecutorConfiguration().setCorePoolSize(1).setMaximumPoolSize(1)
+                .setQueue(QueueType.ARRAY, 1).setRejectionPolicy(RejectionPolicy.DISCARD_OLDEST));
+        EventManager manager = new EventManager() {};
+        manager.registerPartitionKey(SomeEvent.class, SomeEvent::getEventName);
+        manager.registerEventListener(SomeEvent.class, event -> event.setResult(1));
+
+        CountDownLatch release = new CountDownLatch(1);
+        threads.executeAsync(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        CompletableFuture<Integer> partitioned = manager.triggerEventAsync(new SomeEvent<>("Text", new SomeEvent.SomeClass()));
+        assertEquals(1, threads.getQueueDepth());
+
+        // The queue only holds the lane, so the new task runs on this thread instead of dropping the lane
+        AtomicReference<Thread> runner = new AtomicReference<>();
+        threads.executeAsync(() -> runner.set(Thread.currentThread()));
+        assertEquals(Thread.currentThread(), runner.get());
+
+        release.countDown();
+        assertEquals(1, partitioned.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void rejectedLanesCompleteExceptionallyLikeUnpartitionedEvents() throws Exception {
+        ThreadManager threads = ThreadManager.getInstance();
+        threads.configure(new ExecutorConfiguration().setCorePoolSize(1).setMaximumPoolSize(1)
+                .setQueue(QueueType.ARRAY, 1).setRejectionPolicy(RejectionPolicy.ABORT));
+        EventManager manager = new EventManager() {};
+        manager.registerPartitionKey(SomeEvent.class, event -> event.getEventName().equals("partitioned") ? "key" : null);
+        AtomicReference<Thread> runner = new AtomicReference<>();
+        manager.registerEventListener(SomeEvent.class, event -> {
+            runner.set(Thread.currentThread());
+            event.setResult(1);
+        });
+
+        CountDownLatch release = new CountDownLatch(1), done = new CountDownLatch(2);
+        Runnable blocking = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        };
+        threads.executeAsync(blocking);
+        threads.executeAsync(blocking);
+
+        CompletableFuture<Integer> partitioned = manager.triggerEventAsync(new SomeEvent<>("partitioned", new SomeEvent.SomeClass()));
+        CompletableFuture<Integer> unpartitioned = manager.triggerEventAsync(new SomeEvent<>("unpartitioned", new SomeEvent.SomeClass()));
+        for(CompletableFuture<Integer> future: List.of(partitioned, unpartitioned)) {
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertTrue(failure.getCause() instanceof RejectedExecutionException);
+        }
+        assertNull(runner.get());
+
+        // The rejected lane is idle again and runs later events of its key
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, manager.triggerEventAsync(new SomeEvent<>("partitioned", new SomeEvent.SomeClass())).get(5, TimeUnit.SECONDS));
+        assertNotSame(Thread.currentThread(), runner.get());
+    }
+
+    @Test
+    public void discardOldestCompletesDroppedFutures() throws Exception {
+        ThreadManager threads = ThreadManager.getInstance();
+        threads.configure(new ExecutorConfiguration().setCorePoolSize(1).setMaximumPoolSize(1)
+                .setQueue(QueueType.ARRAY, 1).setRejectionPolicy(RejectionPolicy.DISCARD_OLDEST));
+        EventManager manager = new EventManager() {};
+        manager.registerEventListener(SomeEvent.class, event -> event.setResult(1));
+
+        CountDownLatch release = new CountDownLatch(1);
+        threads.executeAsync(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        CompletableFuture<Integer> dropped = manager.triggerEventAsync(new SomeEvent<>("Text", new SomeEvent.SomeClass()));
+        CompletableFuture<Integer> kept = manager.triggerEventAsync(new SomeEvent<>("Text", new SomeEvent.SomeClass()));
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> dropped.get(5, TimeUnit.SECONDS));
+        assertTrue(failure.getCause() instanceof RejectedExecutionException);
+        release.countDown();
+        assertEquals(1, kept.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void tickerStartsOnASaturatedPool() throws InterruptedException {
+        ThreadManager manager = ThreadManager.getInstance();
+        manager.configure(new ExecutorConfiguration().setCorePoolSize(1).setMaximumPoolSize(1)
+                .setQueue(QueueType.ARRAY, 1).setRejectionPolicy(RejectionPolicy.CALLER_RUNS));
+        CountDownLatch release = new CountDownLatch(1), ticked = new CountDownLatch(3);
+        Runnable blocking = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        manager.executeAsync(blocking);
+        manager.executeAsync(blocking);
+
+        TaskHandle handle = manager.executeContinuously(ticked::countDown, 1);
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), manager::startTicker);
+            assertTrue(ticked.await(5, TimeUnit.SECONDS));
+        } finally {
+            handle.cancel();
+            manager.stopTicker();
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void asyncEventsRunOnVirtualThreads() throws Exception {
+        Assumptions.assumeTrue(Runtime.version().feature() >= 21);
+        ThreadManager.getInstance().configure(new ExecutorConfiguration().setVirtualThreads(true));
+
+        EventManager manager = new EventManager() {};
+        manager.registerEventListener(SomeEvent.class, event -> event.setResult(Thread.currentThread().toString().startsWith("VirtualThread") ? 1 : 0));
+
+        assertTrue(ThreadManager.getInstance().isUsingVirtualThreads());
+        assertEquals(1, manager.triggerEventAsync(new SomeEvent<>("Text", new SomeEvent.SomeClass())).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void cancelledTasksStopTicking() throws InterruptedException {
+        ThreadManager manager = ThreadManager.getInstance();
+        AtomicInteger everyTick = new AtomicInteger(), everySecondTick = new AtomicInteger();
+        CountDownLatch ticked = new CountDownLatch(6);
+
+        TaskHandle handle = manager.executeContinuously(() -> {
+            everyTick.incrementAndGet();
+            ticked.countDown();
+        }, 1);
+        TaskHandle second = manager.executeContinuously(everySecondTick::incrementAndGet, 2);
+        manager.startTicker();
+        try {
+            assertTrue(ticked.await(5, TimeUnit.SECONDS));
+            assertTrue(handle.cancel());
+            assertTrue(second.cancel());
+            assertFalse(handle.cancel());
+
+            Thread.sleep(100);
+            int calls = everyTick.get();
+            assertTrue(everySecondTick.get() >= 2 && everySecondTick.get() <= calls / 2 + 2);
+            Thread.sleep(200);
+            assertEquals(calls, everyTick.get());
+        } finally {
+            manager.stopTicker();
+        }
+    }
+
+    @Test
+    public void tasksKeepTickingAfterARestart() throws InterruptedException {
+        ThreadManager manager = ThreadManager.getInstance();
+        manager.setTickRate(1000);
+        CountDownLatch[] ticked = { new CountDownLatch(500) };
+
+        TaskHandle handle = manager.executeContinuously(() -> ticked[0].countDown(), 1);
+        manager.startTicker();
+        try {
+            assertTrue(ticked[0].await(5, TimeUnit.SECONDS));
+            manager.stopTicker();
+
+            // With the tick counter starting at 0 again, the task would be silent for the 500 ticks it already ran
+            ticked[0] = new CountDownLatch(5);
+            manager.startTicker();
+            assertTrue(ticked[0].await(250, TimeUnit.MILLISECONDS));
+        } finally {
+            handle.cancel();
+            manager.stopTicker();
+        }
+    }
+
+    @Test
+    public void skipPolicyDropsOverdueTicks() throws InterruptedException {
+        ThreadManager manager = ThreadManager.getInstance();
+        manager.setTickRate(100);
+        manager.setOverrunPolicy(OverrunPolicy.SKIP);
+        long skipped = manager.getSkippedTicks();
+
+        CountDownLatch slowTickDone = new CountDownLatch(1), nextTick = new CountDownLatch(1);
+        TaskHandle slow = manager.executeContinuously(() -> {
+            if(slowTickDone.getCount() == 0) {
+                nextTick.countDown();
+                return;
+            }
+            try {
+                Thread.sleep(55);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            slowTickDone.countDown();
+        }, 10, TimeUnit.MILLISECONDS);
+        manager.startTicker();
+        try {
+            assertTrue(nextTick.await(5, TimeUnit.SECONDS));
+            assertTrue(manager.getSkippedTicks() - skipped >= 4);
+            assertTrue(manager.getLastTickLateness() < TimeUnit.MILLISECONDS.toNanos(25));
+        } finally {
+            slow.cancel();
+            manager.stopTicker();
+        }
+    }
+
+    @Test
+    public void skipPolicyRunsTasksDueInSkippedTicksOnce() throws InterruptedException {
+        ThreadManager manager = ThreadManager.getInstance();
+        manager.setTickRate(100);
+        manager.setOverrunPolicy(OverrunPolicy.SKIP);
+
+        AtomicLong slowTickEnd = new AtomicLong(), delay = new AtomicLong(-1);
+        CountDownLatch ranAfterSlowTick = new CountDownLatch(1);
+        // Due in tick 0 and every 20 ticks, so tick 20 is skipped by the slow first tick
+        TaskHandle periodic = manager.executeContinuously(() -> {
+            long end = slowTickEnd.get();
+            if(end != 0 && delay.compareAndSet(-1, System.nanoTime() - end))
+                ranAfterSlowTick.countDown();
+        }, 20);
+        TaskHandle slow = manager.executeContinuously(() -> {
+            if(slowTickEnd.get() != 0)
+                return;
+            try {
+                Thread.sleep(250);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            slowTickEnd.set(System.nanoTime());
+        }, 1);
+        manager.startTicker();
+        try {
+            assertTrue(ranAfterSlowTick.await(5, TimeUnit.SECONDS));
+            // Without advancing the tick counter the task would wait for tick 20 for about 190 milliseconds
+            assertTrue(delay.get() < TimeUnit.MILLISECONDS.toNanos(100), "Ran " + delay.get() + "ns after the slow tick");
+        } finally {
+            periodic.cancel();
+            slow.cancel();
+            manager.stopTicker();
+        }
+    }
+
+    @Test
+    public void independentTasksRunInParallel() throws InterruptedException {
+        ThreadManager manager = ThreadManager.getInstance();
+        manager.setParallelTicking(2);
+
+        CyclicBarrier bothRunning = new CyclicBarrier(2);
+        CountDownLatch done = new CountDownLatch(2);
+        AtomicInteger failures = new AtomicInteger();
+        Runnable independent = () -> {
+            if(done.getCount() == 0)
+                return;
+            try {
+                bothRunning.await(1, TimeUnit.SECONDS);
+                done.countDown();
+            } catch (Exception e) {
+                failures.incrementAndGet();
+            }
+        };
+        TaskHandle first = manager.executeContinuously(independent, 1, true);
+        TaskHandle second = manager.executeContinuously(independent, 1, true);
+        manager.startTicker();
+        try {
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals(0, failures.get());
+        } finally {
+            first.cancel();
+            second.cancel();
+            manager.stopTicker();
+        }
+    }
+
+}